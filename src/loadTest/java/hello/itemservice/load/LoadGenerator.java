@@ -0,0 +1,549 @@
+package hello.itemservice.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 부하 테스트
+ * 실행 중인 ItemServiceApplication 에 V1~V4 폼, JSON API 로 정상/오류 입력과 조회 트래픽을 섞어서 보낸다.
+ *
+ * 실행: gradle loadTest -Pload.baseUrl=http://localhost:8080 -Pload.duration=30 -Pload.concurrency=16
+ * 설정 (시스템 프로퍼티)
+ * load.baseUrl     대상 주소 (기본 http://localhost:8080)
+ * load.duration    측정 시간(초), load.warmup 워밍업 시간(초)
+ * load.concurrency 동시 요청 수
+ * load.targets     v1,v2,v3,v4,api,async
+ * load.mix         요청 종류:비율 (valid, required, range, max, totalPriceMin, typeMismatch, items, item, attack)
+ *
+ * attack: 봇이 보내는 형식이 깨진 등록 요청 (모르는 파라미터, 긴 값, 빠진 필드, 잘못된 Content-Type)
+ * 요청마다 X-Forwarded-For 로 클라이언트를 구분한다. 정상 트래픽은 많은 클라이언트, 공격은 소수의 봇 주소
+ * 서버를 abuse.trust-forwarded-for=true 로 실행해야 클라이언트별 요청 수 제한이 적용된다.
+ * 모든 요청이 127.0.0.1 하나로 묶이면 요청 수 제한(429)이 결과를 망가뜨리므로 시작 전에 서버 설정을 확인하고,
+ * abuse.enabled=true 이면서 trust-forwarded-for=false 이면 실행하지 않는다. (제한 자체를 보려면 -Pload.allowRateLimit=true)
+ * 결과의 4xx(429 제외), 429, fail(5xx, 연결 실패)은 따로 센다. 지연 시간과 req/s 는 429 를 뺀 응답만 계산한다.
+ * 서버 CPU 비교: 같은 mix 로 abuse.enabled=true/false 서버를 각각 측정해서 "server cpu" 를 비교한다.
+ * 예) -Pload.mix=valid:20,attack:80
+ *
+ * 느린 클라이언트: load.slowChunk 바이트씩 load.slowDelayMs 간격으로 본문을 나눠 보낸다. (raw socket, http 만)
+ * 블로킹 API(api)는 본문을 다 받을 때까지 요청 스레드가 읽기에서 기다리고, 비동기 API(async)는 스레드를 반환한다.
+ * targets 에 api, async 가 모두 있으면 같은 동시 요청 수에서 둘의 처리량과 p99 를 따로 비교해서 보여준다.
+ * 예) -Pload.targets=api,async -Pload.mix=valid:100 -Pload.slowChunk=8 -Pload.slowDelayMs=50 -Pload.concurrency=400
+ */
+public class LoadGenerator {
+
+    static final String[] KINDS = {"valid", "required", "range", "max", "totalPriceMin", "typeMismatch", "items", "item", "attack"};
+    static final int BOT_COUNT = 4;
+    static final int CLIENT_COUNT = 10_000;
+    static final Pattern CPU_PATTERN = Pattern.compile("\"processCpuNanos\":(-?\\d+)");
+    static final Pattern ENABLED_PATTERN = Pattern.compile("\"enabled\":(true|false)");
+    static final Pattern TRUST_FORWARDED_FOR_PATTERN = Pattern.compile("\"trustForwardedFor\":(true|false)");
+    static final String DEFAULT_MIX = "valid:30,required:10,range:10,max:10,totalPriceMin:10,typeMismatch:10,items:10,item:10";
+
+    private final String baseUrl;
+    private final List<String> targets;
+    private final String[] weightedKinds;
+    private final HttpClient client;
+    private final int slowChunk;
+    private final int slowDelayMillis;
+
+    LoadGenerator(String baseUrl, List<String> targets, String mix) {
+        this(baseUrl, targets, mix, 0, 0);
+    }
+
+    /**
+     * @param slowChunk 0 이면 본문을 한 번에 보낸다. (HttpClient)
+     */
+    LoadGenerator(String baseUrl, List<String> targets, String mix, int slowChunk, int slowDelayMillis) {
+        if (slowChunk > 0 && !"http".equals(URI.create(baseUrl).getScheme())) {
+            throw new IllegalArgumentException("느린 클라이언트는 http 만 지원합니다. baseUrl=" + baseUrl);
+        }
+        this.baseUrl = baseUrl;
+        this.targets = targets;
+        this.weightedKinds = parseMix(mix);
+        this.slowChunk = slowChunk;
+        this.slowDelayMillis = slowDelayMillis;
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER) //등록 요청 자체만 측정
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        int duration = Integer.getInteger("load.duration", 30);
+        int warmup = Integer.getInteger("load.warmup", 5);
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        List<String> targets = Arrays.asList(System.getProperty("load.targets", "v1,v2,v3,v4,api,async").split(","));
+        String mix = System.getProperty("load.mix", DEFAULT_MIX);
+        int slowChunk = Integer.getInteger("load.slowChunk", 0);
+        int slowDelayMillis = Integer.getInteger("load.slowDelayMs", 50);
+        boolean allowRateLimit = Boolean.getBoolean("load.allowRateLimit");
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, targets, mix, slowChunk, slowDelayMillis);
+        if (!allowRateLimit) {
+            generator.checkRateLimit();
+        }
+        System.out.printf("baseUrl=%s targets=%s concurrency=%d warmup=%ds duration=%ds%n", baseUrl, targets, concurrency, warmup, duration);
+        System.out.printf("mix=%s%n", mix);
+        if (slowChunk > 0) {
+            System.out.printf("slow client: %d bytes every %d ms%n", slowChunk, slowDelayMillis);
+        }
+
+        generator.run(concurrency, warmup, false);
+        long cpuBefore = generator.serverCpuNanos();
+        Map<String, Recorder> results = generator.run(concurrency, duration, true);
+        long cpuAfter = generator.serverCpuNanos();
+        report(results, duration);
+        reportBlockingVsAsync(results, duration, concurrency);
+        reportServerCpu(results, cpuBefore, cpuAfter);
+    }
+
+    Map<String, Recorder> run(int concurrency, int seconds, boolean record) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Map<String, Recorder>> perWorker = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Map<String, Recorder> recorders = new TreeMap<>();
+            perWorker.add(recorders);
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    String target = targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+                    String kind = weightedKinds[ThreadLocalRandom.current().nextInt(weightedKinds.length)];
+                    if (isRead(kind) && isApi(target)) {
+                        kind = "valid"; //API 는 조회가 없다.
+                    }
+                    long start = System.nanoTime();
+                    int status = send(target, kind);
+                    long elapsed = System.nanoTime() - start;
+                    if (record) {
+                        recorders.computeIfAbsent(target + " " + kind, key -> new Recorder()).record(elapsed, status);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        Map<String, Recorder> merged = new TreeMap<>();
+        for (Map<String, Recorder> recorders : perWorker) {
+            recorders.forEach((key, recorder) -> merged.computeIfAbsent(key, k -> new Recorder()).merge(recorder));
+        }
+        return merged;
+    }
+
+    private int send(String target, String kind) {
+        RequestSpec spec = requestSpec(target, kind);
+        String clientAddress = clientAddress(kind);
+        try {
+            if (slowChunk > 0) {
+                return sendSlowly(spec, clientAddress);
+            }
+            return client.send(request(spec, clientAddress), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    HttpRequest request(RequestSpec spec, String clientAddress) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + spec.path))
+                .header("X-Forwarded-For", clientAddress);
+        if (spec.body == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", spec.contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(spec.body))
+                .build();
+    }
+
+    /**
+     * 느린 클라이언트 (HTTP/1.1, Connection: close)
+     * 헤더는 한 번에 보내고 본문은 slowChunk 바이트씩 slowDelayMillis 간격으로 보낸다. 상태 코드만 읽고 응답은 버린다.
+     */
+    private int sendSlowly(RequestSpec spec, String clientAddress) throws IOException, InterruptedException {
+        URI uri = URI.create(baseUrl);
+        int port = uri.getPort() < 0 ? 80 : uri.getPort();
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), port), 5_000);
+            socket.setSoTimeout(60_000);
+            socket.setTcpNoDelay(true); //조각마다 바로 보낸다.
+
+            StringBuilder head = new StringBuilder()
+                    .append(spec.body == null ? "GET " : "POST ").append(uri.getRawPath()).append(spec.path).append(" HTTP/1.1\r\n")
+                    .append("Host: ").append(uri.getHost()).append(':').append(port).append("\r\n")
+                    .append("X-Forwarded-For: ").append(clientAddress).append("\r\n")
+                    .append("Connection: close\r\n");
+            if (spec.body != null) {
+                head.append("Content-Type: ").append(spec.contentType).append("\r\n")
+                        .append("Content-Length: ").append(spec.body.length).append("\r\n");
+            }
+            head.append("\r\n");
+
+            OutputStream out = socket.getOutputStream();
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            if (spec.body != null) {
+                for (int offset = 0; offset < spec.body.length; offset += slowChunk) {
+                    Thread.sleep(slowDelayMillis);
+                    out.write(spec.body, offset, Math.min(slowChunk, spec.body.length - offset));
+                    out.flush();
+                }
+            }
+            return readStatus(socket.getInputStream());
+        }
+    }
+
+    /**
+     * 상태 줄(HTTP/1.1 200 ...)의 상태 코드. 나머지는 연결이 닫힐 때까지 읽어서 버린다.
+     */
+    static int readStatus(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            line.append((char) b);
+        }
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            //버린다.
+        }
+        String[] parts = line.toString().trim().split(" ");
+        return parts.length >= 2 ? Integer.parseInt(parts[1]) : -1;
+    }
+
+    RequestSpec requestSpec(String target, String kind) {
+        if ("attack".equals(kind)) {
+            return attack(target);
+        }
+        if ("items".equals(kind)) {
+            return RequestSpec.get("/validation/" + target + "/items");
+        }
+        if ("item".equals(kind)) {
+            return RequestSpec.get("/validation/" + target + "/items/1");
+        }
+
+        String[] values = values(kind);
+        if (isApi(target)) {
+            String path = "async".equals(target) ? "/validation/api/async/items/add" : "/validation/api/items/add";
+            String price = "typeMismatch".equals(kind) ? "\"" + values[1] + "\"" : values[1];
+            String json = "{\"itemName\":\"" + values[0] + "\",\"price\":" + price + ",\"quantity\":" + values[2] + "}";
+            return RequestSpec.post(path, "application/json", json);
+        }
+
+        String form = "itemName=" + encode(values[0]) + "&price=" + encode(values[1]) + "&quantity=" + encode(values[2]);
+        return RequestSpec.post("/validation/" + target + "/items/add", "application/x-www-form-urlencoded", form);
+    }
+
+    /**
+     * 형식이 깨진 등록 요청 (봇)
+     */
+    private RequestSpec attack(String target) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (isApi(target)) {
+            String path = "async".equals(target) ? "/validation/api/async/items/add" : "/validation/api/items/add";
+            return RequestSpec.post(path, "text/plain", "itemName=" + "x".repeat(random.nextInt(1, 2000)));
+        }
+        String form;
+        switch (random.nextInt(4)) {
+            case 0:
+                form = "itemName=spam&price=1&quantity=1&" + "field" + random.nextInt(1000) + "=" + "x".repeat(100);
+                break;
+            case 1:
+                form = "itemName=" + "x".repeat(random.nextInt(300, 5000)) + "&price=1&quantity=1";
+                break;
+            case 2:
+                form = "price=" + random.nextInt() + "&price=" + random.nextInt();
+                break;
+            default:
+                form = "itemName=%00%01spam&price=1&quantity=1";
+        }
+        return RequestSpec.post("/validation/" + target + "/items/add", "application/x-www-form-urlencoded", form);
+    }
+
+    /**
+     * 정상 트래픽은 많은 클라이언트, 공격은 소수의 봇
+     */
+    static String clientAddress(String kind) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if ("attack".equals(kind)) {
+            return "10.66.0." + random.nextInt(BOT_COUNT);
+        }
+        int client = random.nextInt(CLIENT_COUNT);
+        return "10.1." + (client / 256) + "." + (client % 256);
+    }
+
+    /**
+     * 요청 수 제한이 켜져 있는데 X-Forwarded-For 를 믿지 않으면 모든 요청이 한 클라이언트(127.0.0.1)로 제한된다.
+     */
+    void checkRateLimit() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/validation/api/abuse/stats")).GET().build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher enabled = ENABLED_PATTERN.matcher(body);
+        Matcher trustForwardedFor = TRUST_FORWARDED_FOR_PATTERN.matcher(body);
+        if (!enabled.find() || !trustForwardedFor.find()) {
+            throw new IllegalStateException("서버의 요청 수 제한 설정을 알 수 없습니다. (/validation/api/abuse/stats) body=" + body);
+        }
+        if (Boolean.parseBoolean(enabled.group(1)) && !Boolean.parseBoolean(trustForwardedFor.group(1))) {
+            throw new IllegalStateException("모든 요청이 한 주소로 요청 수 제한(429)을 받습니다. "
+                    + "서버를 --abuse.enabled=false 또는 --abuse.trust-forwarded-for=true 로 실행하세요. "
+                    + "(제한을 그대로 측정하려면 -Pload.allowRateLimit=true)");
+        }
+    }
+
+    /**
+     * 서버 프로세스 CPU 시간 (GET /validation/api/abuse/stats 의 processCpuNanos)
+     */
+    long serverCpuNanos() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/validation/api/abuse/stats")).GET().build();
+            String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = CPU_PATTERN.matcher(body);
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    static void reportServerCpu(Map<String, Recorder> results, long cpuBefore, long cpuAfter) {
+        if (cpuBefore < 0 || cpuAfter < 0) {
+            System.out.printf("%nserver cpu: 알 수 없음 (/validation/api/abuse/stats)%n");
+            return;
+        }
+        long requests = 0;
+        long attacks = 0;
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            requests += entry.getValue().requests();
+            if (entry.getKey().endsWith(" attack")) {
+                attacks += entry.getValue().requests();
+            }
+        }
+        double cpuMillis = millis(cpuAfter - cpuBefore);
+        System.out.printf("%nserver cpu: %.0f ms, requests=%d (attack=%d), cpu/request=%.3f ms%n",
+                cpuMillis, requests, attacks, requests == 0 ? 0 : cpuMillis / requests);
+    }
+
+    /**
+     * 요청 종류별 입력 값 (itemName, price, quantity)
+     */
+    static String[] values(String kind) {
+        switch (kind) {
+            case "required":
+                return new String[]{" ", "10000", "10"};
+            case "range":
+                return new String[]{"itemA", "10", "10"};
+            case "max":
+                return new String[]{"itemA", "10000", "10000"};
+            case "totalPriceMin":
+                return new String[]{"itemA", "1000", "1"};
+            case "typeMismatch":
+                return new String[]{"itemA", "abc", "10"};
+            default:
+                return new String[]{"itemA", "10000", "10"};
+        }
+    }
+
+    static void report(Map<String, Recorder> results, int seconds) {
+        System.out.printf("%n%-22s %8s %9s %9s %9s %9s %9s %7s %7s %7s%n", "target kind", "count", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)",
+                "4xx", "429", "fail");
+        results.forEach((key, recorder) -> {
+            long[] sorted = recorder.sorted();
+            System.out.printf("%-22s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d%n", key, sorted.length, (double) sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 1.0)), recorder.clientErrors, recorder.limited, recorder.failures);
+        });
+        long limited = results.values().stream().mapToLong(recorder -> recorder.limited).sum();
+        if (limited > 0) {
+            System.out.printf("경고: 429 응답 %d 건 (요청 수 제한). 지연 시간과 req/s 에서 뺐습니다.%n", limited);
+        }
+
+        //버전별 오류 경로 비용: 오류 입력 평균 지연 / 정상 입력 평균 지연
+        System.out.printf("%n%-8s %14s %14s %8s%n", "target", "valid avg(ms)", "error avg(ms)", "ratio");
+        Map<String, double[]> costs = new LinkedHashMap<>();
+        results.forEach((key, recorder) -> {
+            String[] parts = key.split(" ");
+            if (isRead(parts[1])) {
+                return;
+            }
+            double[] cost = costs.computeIfAbsent(parts[0], k -> new double[4]);
+            int offset = "valid".equals(parts[1]) ? 0 : 2;
+            cost[offset] += recorder.total;
+            cost[offset + 1] += recorder.count;
+        });
+        costs.forEach((target, cost) -> {
+            double valid = cost[1] == 0 ? 0 : millis((long) (cost[0] / cost[1]));
+            double error = cost[3] == 0 ? 0 : millis((long) (cost[2] / cost[3]));
+            System.out.printf("%-8s %14.3f %14.3f %8.2f%n", target, valid, error, valid == 0 ? 0 : error / valid);
+        });
+    }
+
+    /**
+     * 블로킹 API(api)와 비동기 API(async)를 같은 동시 요청 수에서 비교 (요청 종류 합계)
+     */
+    static void reportBlockingVsAsync(Map<String, Recorder> results, int seconds, int concurrency) {
+        Map<String, Recorder> byTarget = new LinkedHashMap<>();
+        byTarget.put("api", new Recorder());
+        byTarget.put("async", new Recorder());
+        results.forEach((key, recorder) -> {
+            Recorder total = byTarget.get(key.split(" ")[0]);
+            if (total != null) {
+                total.merge(recorder);
+            }
+        });
+        if (byTarget.values().stream().anyMatch(recorder -> recorder.requests() == 0)) {
+            return;
+        }
+
+        System.out.printf("%nblocking vs async (concurrency=%d)%n", concurrency);
+        System.out.printf("%-8s %8s %9s %9s %9s %7s %7s %7s%n", "target", "count", "req/s", "p50(ms)", "p99(ms)", "4xx", "429", "fail");
+        byTarget.forEach((target, recorder) -> {
+            long[] sorted = recorder.sorted();
+            System.out.printf("%-8s %8d %9.1f %9.2f %9.2f %7d %7d %7d%n", target, sorted.length, (double) sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), recorder.clientErrors, recorder.limited, recorder.failures);
+        });
+    }
+
+    static String[] parseMix(String mix) {
+        List<String> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (!Arrays.asList(KINDS).contains(pair[0])) {
+                throw new IllegalArgumentException("알 수 없는 요청 종류: " + pair[0]);
+            }
+            for (int i = 0; i < Integer.parseInt(pair[1]); i++) {
+                weighted.add(pair[0]);
+            }
+        }
+        return weighted.toArray(new String[0]);
+    }
+
+    static boolean isRead(String kind) {
+        return "items".equals(kind) || "item".equals(kind);
+    }
+
+    static boolean isApi(String target) {
+        return "api".equals(target) || "async".equals(target);
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 보낼 요청 (HttpClient 와 느린 클라이언트가 같은 요청을 보낸다)
+     * body 가 null 이면 GET
+     */
+    static class RequestSpec {
+        private final String path;
+        private final String contentType;
+        private final byte[] body;
+
+        private RequestSpec(String path, String contentType, byte[] body) {
+            this.path = path;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static RequestSpec get(String path) {
+            return new RequestSpec(path, null, null);
+        }
+
+        static RequestSpec post(String path, String contentType, String body) {
+            return new RequestSpec(path, contentType, body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 지연 시간 기록 (워커 스레드마다 따로 가지고 마지막에 합친다)
+     * 429 는 처리하지 않고 바로 돌려준 응답이라 개수만 세고 지연 시간에는 넣지 않는다.
+     */
+    static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long total;
+        private int clientErrors;
+        private int limited;
+        private int failures;
+
+        void record(long nanos, int status) {
+            if (status == 429) {
+                limited++;
+                return;
+            }
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            total += nanos;
+            if (status < 0 || status >= 500) {
+                failures++;
+            }
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            total += other.total;
+            clientErrors += other.clientErrors;
+            limited += other.limited;
+            failures += other.failures;
+        }
+
+        /**
+         * 보낸 요청 수 (429 포함)
+         */
+        long requests() {
+            return count + limited;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hello.itemservice.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시간 측정
+ * 애플리케이션을 새 프로세스로 띄우고 첫 GET /validation/v4/items 200 응답까지 걸린 시간을 잰다.
+ * 모드(프로파일)별로 여러 번 반복해서 중앙값을 비교한다.
+ *
+ * 실행: gradle startupTest -Pstartup.runs=5
+ * 설정 (시스템 프로퍼티)
+ * startup.classpath 애플리케이션 클래스패스 (gradle 이 넘긴다)
+ * startup.modes     default,fast-startup (default 는 프로파일 없음)
+ * startup.runs      모드별 반복 횟수
+ * startup.port      사용할 포트 (기본 18080)
+ */
+public class StartupTimer {
+
+    private static final String MAIN_CLASS = "hello.itemservice.ItemServiceApplication";
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    private final String classpath;
+    private final int port;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    StartupTimer(String classpath, int port) {
+        this.classpath = classpath;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String classpath = System.getProperty("startup.classpath");
+        if (classpath == null) {
+            throw new IllegalArgumentException("startup.classpath 가 필요합니다. (gradle startupTest 로 실행)");
+        }
+        List<String> modes = Arrays.asList(System.getProperty("startup.modes", "default,fast-startup").split(","));
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18080);
+
+        StartupTimer timer = new StartupTimer(classpath, port);
+        System.out.printf("%-14s %10s %10s %10s%n", "mode", "min(ms)", "median(ms)", "max(ms)");
+        for (String mode : modes) {
+            long[] times = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                times[i] = timer.timeToFirstResponse(mode.trim());
+            }
+            Arrays.sort(times);
+            System.out.printf("%-14s %10d %10d %10d%n", mode, times[0], times[runs / 2], times[runs - 1]);
+        }
+    }
+
+    /**
+     * @return 프로세스 시작부터 첫 200 응답까지 ms
+     */
+    long timeToFirstResponse(String mode) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", classpath, MAIN_CLASS, "--server.port=" + port));
+        if (!"default".equals(mode)) {
+            command.add("--spring.profiles.active=" + mode);
+        }
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/v4/items")).GET().build();
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 종료되었습니다. exitValue=" + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    //아직 포트가 열리지 않음
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("응답 대기 시간 초과 mode=" + mode);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
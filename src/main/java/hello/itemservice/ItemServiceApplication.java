@@ -2,12 +2,17 @@ package hello.itemservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ItemServiceApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ItemServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(ItemServiceApplication.class);
+		if (StartupReport.isEnabled(args)) {
+			application.setApplicationStartup(new BufferingApplicationStartup(StartupReport.CAPACITY)); //빈, 단계별 기동 시간 기록
+		}
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,88 @@
+package hello.itemservice;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 기동 시간 리포트
+ * 준비 완료(ApplicationReadyEvent) 시점에 JVM 시작 후 걸린 시간을 남긴다.
+ * -Dstartup.report=true 또는 --startup.report=true 로 실행하면 단계별 합계와 오래 걸린 빈 목록도 남긴다.
+ * (빈 생성 시간은 그 빈이 의존하는 빈의 생성 시간을 포함한다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupReport {
+
+    static final int CAPACITY = 10_000;
+    private static final String ENABLED_ARGUMENT = "--startup.report=true";
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+    private static final int TOP_BEANS = 15;
+
+    private final ApplicationStartup applicationStartup;
+
+    static boolean isEnabled(String[] args) {
+        return Boolean.getBoolean("startup.report") || Arrays.asList(args).contains(ENABLED_ARGUMENT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        log.info("준비 완료: JVM 시작 후 {}ms", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+
+        List<StartupTimeline.TimelineEvent> events = ((BufferingApplicationStartup) applicationStartup).getBufferedTimeline().getEvents();
+
+        //단계별 합계 (같은 이름의 단계는 합친다)
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            phases.merge(event.getStartupStep().getName(), event.getDuration(), Duration::plus);
+        }
+        StringBuilder report = new StringBuilder("기동 단계별 시간 (이름, 합계 ms)");
+        phases.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .forEach(phase -> report.append(String.format("%n  %-50s %8d", phase.getKey(), phase.getValue().toMillis())));
+
+        //오래 걸린 빈
+        List<StartupTimeline.TimelineEvent> beans = events.stream()
+                .filter(event -> BEAN_INSTANTIATE.equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(TOP_BEANS)
+                .collect(Collectors.toList());
+        report.append(String.format("%n오래 걸린 빈 (생성된 빈 %d개 중 상위 %d, ms)", countBeans(events), beans.size()));
+        for (StartupTimeline.TimelineEvent bean : beans) {
+            report.append(String.format("%n  %-50s %8d", beanName(bean.getStartupStep()), bean.getDuration().toMillis()));
+        }
+        log.info(report.toString());
+    }
+
+    private long countBeans(List<StartupTimeline.TimelineEvent> events) {
+        return events.stream().filter(event -> BEAN_INSTANTIATE.equals(event.getStartupStep().getName())).count();
+    }
+
+    private String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
@@ -3,10 +3,12 @@ package hello.itemservice;
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
-
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TestDataInit {
@@ -15,11 +17,19 @@ public class TestDataInit {
 
     /**
      * 테스트용 데이터 추가
+     * 기동을 기다리게 하지 않도록 컨텍스트가 뜬 뒤 별도 스레드에서 넣는다.
      */
-    @PostConstruct
+    @EventListener(ApplicationStartedEvent.class)
     public void init() {
+        Thread seeder = new Thread(this::seed, "test-data-init");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    private void seed() {
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
+        log.info("테스트 데이터 추가 완료");
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package hello.itemservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.abuse.AbuseFilter;
+import hello.itemservice.web.abuse.AbuseStats;
+import hello.itemservice.web.abuse.ClientRateLimiter;
+import hello.itemservice.web.idempotency.IdempotencyFilter;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.limit.ConcurrencyLimitFilter;
+import hello.itemservice.web.limit.ConcurrencyLimits;
+import hello.itemservice.web.validation.ItemAsyncValidationServlet;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.log.ValidationFailureLogger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final int ABUSE_FILTER_ORDER = 1;
+    private static final int CONCURRENCY_LIMIT_FILTER_ORDER = 2;
+    private static final int IDEMPOTENCY_FILTER_ORDER = 3;
+
+    private final ItemPropertyValidator itemPropertyValidator;
+
+    /**
+     * @Validated 검증기: 미리 만들어 둔 제약조건 실행 계획(ConstraintPlanCache)을 사용한다.
+     */
+    @Override
+    public Validator getValidator() {
+        return itemPropertyValidator;
+    }
+
+    /**
+     * 비동기 검증 API 서블릿 등록
+     * mvcValidator: @Validated 가 사용하는 것과 같은 검증기를 넘겨서 검증 규칙을 맞춘다.
+     * errorAttributes: 형식 오류 응답을 /error(BasicErrorController)와 같은 구조로 맞춘다.
+     */
+    @Bean
+    public ServletRegistrationBean<ItemAsyncValidationServlet> itemAsyncValidationServlet(
+            ObjectMapper objectMapper, @Qualifier("mvcValidator") Validator validator, ValidationFailureLogger validationFailureLogger,
+            ErrorAttributes errorAttributes) {
+        ServletRegistrationBean<ItemAsyncValidationServlet> registrationBean = new ServletRegistrationBean<>(
+                new ItemAsyncValidationServlet(objectMapper, validator, validationFailureLogger, errorAttributes),
+                ItemAsyncValidationServlet.URL_PATTERN);
+        registrationBean.setName("itemAsyncValidationServlet");
+        registrationBean.setAsyncSupported(true);
+        return registrationBean;
+    }
+
+    /**
+     * 상품 등록 앞단 필터: 요청 수 제한, 형식 확인
+     * 중복 요청 제거보다 먼저 실행해서 걸러진 요청은 멱등성 키 저장소도 건드리지 않는다.
+     * abuse.enabled=false 로 끌 수 있다. (부하 테스트에서 비교할 때)
+     */
+    @Bean
+    public FilterRegistrationBean<AbuseFilter> abuseFilter(ClientRateLimiter clientRateLimiter, AbuseStats abuseStats,
+                                                           @Value("${abuse.enabled:true}") boolean enabled,
+                                                           @Value("${abuse.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        FilterRegistrationBean<AbuseFilter> registrationBean =
+                new FilterRegistrationBean<>(new AbuseFilter(clientRateLimiter, abuseStats, trustForwardedFor));
+        registrationBean.setOrder(ABUSE_FILTER_ORDER);
+        registrationBean.addUrlPatterns("/validation/*");
+        registrationBean.setEnabled(enabled);
+        return registrationBean;
+    }
+
+    /**
+     * 과부하 시 요청 덜어내기 필터 (요청 종류별 동시 처리 수 제한)
+     * 요청 수 제한 다음, 중복 요청 제거 전에 실행해서 거절된 요청은 멱등성 키를 남기지 않는다.
+     * concurrency-limit.enabled=false 로 끌 수 있다.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimits concurrencyLimits,
+                                                                                 @Value("${concurrency-limit.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registrationBean = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(concurrencyLimits));
+        registrationBean.setOrder(CONCURRENCY_LIMIT_FILTER_ORDER);
+        registrationBean.addUrlPatterns("/validation/*");
+        registrationBean.setEnabled(enabled);
+        return registrationBean;
+    }
+
+    /**
+     * 상품 등록 중복 요청 제거 필터
+     * 문자 인코딩 필터 다음에 실행되어야 폼 파라미터(idempotencyKey)를 올바르게 읽는다.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyKeyStore idempotencyKeyStore) {
+        FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyKeyStore));
+        registrationBean.setOrder(IDEMPOTENCY_FILTER_ORDER);
+        registrationBean.addUrlPatterns("/validation/*");
+        return registrationBean;
+    }
+}
@@ -0,0 +1,150 @@
+package hello.itemservice.domain.item;
+
+import lombok.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재고 집계 (상품 수, 총 수량, 총 재고 금액, 가격/수량 분포)
+ * 저장/수정 알림마다 O(1)로 갱신한다. (수정은 이전 값을 빼고 새 값을 더한다) 조회할 때 전체 상품을 훑지 않는다.
+ * LongAdder 라서 여러 스레드가 동시에 갱신해도 한 곳에서 경합하지 않는다.
+ *
+ * 여러 값을 서로 맞는 상태로 읽으려면 ItemRepository.withReadLock 안에서 snapshot() 을 호출한다.
+ */
+@Component
+@Lazy(false)
+public class InventoryStats implements ItemChangeListener {
+
+    /**
+     * 구간 시작값 (마지막 구간은 끝이 없다)
+     */
+    static final long[] PRICE_BOUNDS = {0, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+    static final long[] QUANTITY_BOUNDS = {0, 10, 100, 1_000, 10_000};
+
+    private final LongAdder itemCount = new LongAdder();
+    private final LongAdder totalQuantity = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final Histogram priceHistogram = new Histogram(PRICE_BOUNDS);
+    private final Histogram quantityHistogram = new Histogram(QUANTITY_BOUNDS);
+
+    public InventoryStats(ItemRepository itemRepository) {
+        itemRepository.addListener(this);
+    }
+
+    @Override
+    public void onChange(ItemSnapshot before, ItemSnapshot after) {
+        if (before == null) {
+            itemCount.increment();
+        } else {
+            add(before, -1);
+        }
+        add(after, 1);
+    }
+
+    private void add(ItemSnapshot item, int sign) {
+        totalQuantity.add(sign * valueOf(item.getQuantity()));
+        totalValue.add(sign * totalValue(item));
+        priceHistogram.add(item.getPrice(), sign);
+        quantityHistogram.add(item.getQuantity(), sign);
+    }
+
+    @Override
+    public void onClear() {
+        itemCount.reset();
+        totalQuantity.reset();
+        totalValue.reset();
+        priceHistogram.reset();
+        quantityHistogram.reset();
+    }
+
+    public InventorySnapshot snapshot() {
+        return new InventorySnapshot(itemCount.sum(), totalQuantity.sum(), totalValue.sum(),
+                priceHistogram.snapshot(), quantityHistogram.snapshot());
+    }
+
+    /**
+     * 재고 금액 = 가격 * 수량 (값이 없으면 0, int 범위를 넘을 수 있어서 long)
+     */
+    public static long totalValue(ItemSnapshot item) {
+        return valueOf(item.getPrice()) * valueOf(item.getQuantity());
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    @Value
+    public static class InventorySnapshot {
+        long itemCount;
+        long totalQuantity;
+        long totalValue;
+        Map<String, Long> priceHistogram;
+        Map<String, Long> quantityHistogram;
+    }
+
+    /**
+     * 구간별 개수 (값이 없으면 "none")
+     */
+    static class Histogram {
+
+        static final String NONE = "none";
+
+        private final long[] bounds;
+        private final String[] labels;
+        private final LongAdder[] counts;
+        private final LongAdder none = new LongAdder();
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.labels = new String[bounds.length];
+            this.counts = new LongAdder[bounds.length];
+            for (int i = 0; i < bounds.length; i++) {
+                labels[i] = label(bounds, i);
+                counts[i] = new LongAdder();
+            }
+        }
+
+        static String label(long[] bounds, int index) {
+            return index == bounds.length - 1
+                    ? bounds[index] + "+"
+                    : bounds[index] + "-" + (bounds[index + 1] - 1);
+        }
+
+        /**
+         * 값이 들어가는 구간 (첫 구간보다 작으면 첫 구간)
+         */
+        static int indexOf(long[] bounds, long value) {
+            int index = Arrays.binarySearch(bounds, value);
+            return index >= 0 ? index : Math.max(-index - 2, 0);
+        }
+
+        void add(Integer value, int delta) {
+            if (value == null) {
+                none.add(delta);
+            } else {
+                counts[indexOf(bounds, value)].add(delta);
+            }
+        }
+
+        void reset() {
+            none.reset();
+            for (LongAdder count : counts) {
+                count.reset();
+            }
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> snapshot = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                snapshot.put(labels[i], counts[i].sum());
+            }
+            snapshot.put(NONE, none.sum());
+            return snapshot;
+        }
+    }
+}
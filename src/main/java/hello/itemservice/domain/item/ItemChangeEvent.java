@@ -0,0 +1,29 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+/**
+ * 변경 로그의 이벤트 하나 (불변)
+ * sequence: 1부터 시작하는 단조 증가 번호 - 소비자는 마지막으로 받은 번호부터 이어서 읽는다.
+ */
+@Getter
+public class ItemChangeEvent {
+
+    private final long sequence;
+    private final ItemChangeType type;
+    private final Long itemId;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final long timestamp;
+
+    public ItemChangeEvent(long sequence, ItemChangeType type, ItemSnapshot item, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.itemId = item.getId();
+        this.itemName = item.getItemName();
+        this.price = item.getPrice();
+        this.quantity = item.getQuantity();
+        this.timestamp = timestamp;
+    }
+}
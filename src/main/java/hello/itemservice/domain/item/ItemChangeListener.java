@@ -0,0 +1,27 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 저장/수정 알림
+ * 저장소의 쓰기 락 안에서 호출되기 때문에 같은 상품의 변경은 실제 반영 순서대로 전달된다. (오래 걸리는 작업 금지)
+ */
+public interface ItemChangeListener {
+
+    /**
+     * @param before 수정 전 상품 (저장이면 null)
+     * @param after  저장/수정 후 상품
+     */
+    void onChange(ItemSnapshot before, ItemSnapshot after);
+
+    /**
+     * 저장/수정(배치는 배치 한 번)을 마치고 쓰기 락을 푼 뒤에 호출된다.
+     * 대기자 깨우기처럼 락 밖에서 해도 되는 일을 한다.
+     */
+    default void afterChange() {
+    }
+
+    /**
+     * 저장소를 비웠을 때 (테스트)
+     */
+    default void onClear() {
+    }
+}
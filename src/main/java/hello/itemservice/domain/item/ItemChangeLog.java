@@ -0,0 +1,159 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 상품 변경 로그 (고정 크기 링 버퍼, lock-free)
+ * 저장소의 저장/수정을 순서 번호와 함께 보관한다.
+ * 버퍼가 가득 차면 가장 오래된 이벤트부터 덮어쓴다. 너무 늦게 읽으면 truncated 로 알려준다.
+ *
+ * 쓰기 스레드는 번호를 받아 자기 칸에만 쓰고 기다리지 않는다. (칸의 이벤트 번호가 곧 공개 표시)
+ * 저장소 락을 푼 뒤(afterChange) 앞에서부터 채워진 칸까지 published 를 올리고 대기자를 깨운다.
+ * 그래서 읽는 쪽은 published 까지 빈틈 없이 순서대로 읽는다.
+ * 지연 초기화(fast-startup)에서도 첫 변경부터 기록하도록 항상 기동할 때 만든다.
+ */
+@Component
+@Lazy(false)
+public class ItemChangeLog implements ItemChangeListener {
+
+    static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+
+    private final AtomicReferenceArray<ItemChangeEvent> ring = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong claimed = new AtomicLong(); //마지막으로 할당한 번호
+    private final AtomicLong published = new AtomicLong(); //여기까지 모든 칸이 채워졌다. (읽을 수 있는 마지막 번호)
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public ItemChangeLog(ItemRepository itemRepository) {
+        itemRepository.addListener(this);
+    }
+
+    /**
+     * 저장소 쓰기 락 안: 자기 칸에만 쓴다.
+     */
+    @Override
+    public void onChange(ItemSnapshot before, ItemSnapshot after) {
+        long sequence = claimed.incrementAndGet();
+        ItemChangeType type = before == null ? ItemChangeType.SAVE : ItemChangeType.UPDATE;
+        ring.set(index(sequence), new ItemChangeEvent(sequence, type, after, System.currentTimeMillis()));
+    }
+
+    /**
+     * 저장소 락 밖: 공개하고 대기자를 깨운다.
+     */
+    @Override
+    public void afterChange() {
+        advance();
+        notifyWaiters();
+    }
+
+    /**
+     * 다음 칸에 다음 번호가 쓰여 있는 동안 published 를 올린다.
+     * 각 쓰기 스레드가 자기 칸을 쓴 뒤에 호출하므로, 마지막으로 칸을 채운 스레드가 빈틈 없는 끝까지 올린다.
+     * (칸이 이미 더 큰 번호로 덮어써졌으면 그 번호는 예전에 쓰였다)
+     */
+    private void advance() {
+        long current = published.get();
+        while (true) {
+            ItemChangeEvent next = ring.get(index(current + 1));
+            if (next == null || next.getSequence() <= current) {
+                return;
+            }
+            if (published.compareAndSet(current, current + 1)) {
+                current++;
+            } else {
+                current = published.get();
+            }
+        }
+    }
+
+    /**
+     * 기다리던 번호 뒤가 공개된 대기자만 호출한다. 큐에서 먼저 꺼낸 스레드만 호출하므로 한 번만 호출된다.
+     */
+    private void notifyWaiters() {
+        long last = published.get();
+        for (Waiter waiter : waiters) {
+            if (waiter.afterSequence < last && waiters.remove(waiter)) {
+                waiter.callback.run();
+            }
+        }
+    }
+
+    /**
+     * afterSequence 다음 이벤트부터 최대 maxEvents 개
+     */
+    public ChangeBatch readAfter(long afterSequence, int maxEvents) {
+        long last = published.get();
+        long from = Math.max(afterSequence + 1, last - CAPACITY + 1);
+        boolean truncated = from > afterSequence + 1;
+
+        List<ItemChangeEvent> events = new ArrayList<>();
+        for (long sequence = from; sequence <= last && events.size() < maxEvents; sequence++) {
+            ItemChangeEvent event = ring.get(index(sequence));
+            if (event == null || event.getSequence() != sequence) {
+                truncated = true; //읽는 도중 덮어써졌다.
+                continue;
+            }
+            events.add(event);
+        }
+        long lastSequence = events.isEmpty() ? Math.max(afterSequence, from - 1) : events.get(events.size() - 1).getSequence();
+        return new ChangeBatch(events, lastSequence, truncated);
+    }
+
+    /**
+     * afterSequence 다음 이벤트가 공개되면 한 번 호출된다. (저장소 락 밖, 이미 공개되어 있으면 바로 호출)
+     */
+    public void addWaiter(long afterSequence, Runnable callback) {
+        Waiter waiter = new Waiter(afterSequence, callback);
+        waiters.add(waiter);
+
+        //등록 직전에 공개된 이벤트를 놓치지 않도록 한 번 더 확인
+        if (published.get() > afterSequence && waiters.remove(waiter)) {
+            callback.run();
+        }
+    }
+
+    public void removeWaiter(Runnable callback) {
+        waiters.removeIf(waiter -> waiter.callback == callback);
+    }
+
+    public long getLastSequence() {
+        return published.get();
+    }
+
+    private static int index(long sequence) {
+        return (int) (sequence & MASK);
+    }
+
+    private static class Waiter {
+        private final long afterSequence;
+        private final Runnable callback;
+
+        Waiter(long afterSequence, Runnable callback) {
+            this.afterSequence = afterSequence;
+            this.callback = callback;
+        }
+    }
+
+    @Getter
+    public static class ChangeBatch {
+        private final List<ItemChangeEvent> events;
+        private final long lastSequence; //다음 요청의 after 값
+        private final boolean truncated; //놓친 이벤트가 있음
+
+        ChangeBatch(List<ItemChangeEvent> events, long lastSequence, boolean truncated) {
+            this.events = events;
+            this.lastSequence = lastSequence;
+            this.truncated = truncated;
+        }
+    }
+}
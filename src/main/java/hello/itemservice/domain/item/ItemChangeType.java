@@ -0,0 +1,5 @@
+package hello.itemservice.domain.item;
+
+public enum ItemChangeType {
+    SAVE, UPDATE
+}
@@ -0,0 +1,30 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 ID 생성기
+ * 여러 스레드에서 동시에 호출해도 안전해야 한다.
+ */
+public interface ItemIdGenerator {
+
+    long nextId();
+
+    /**
+     * 연속된 ID count 개를 한 번에 예약하고 첫 ID 를 반환한다. (첫 ID ~ 첫 ID + count - 1)
+     *
+     * @param count 1 ~ {@link #maxBlockSize()}
+     */
+    long nextIds(int count);
+
+    /**
+     * nextIds 로 한 번에 예약할 수 있는 최대 개수
+     */
+    default int maxBlockSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 지금까지 발급한 가장 큰 ID (없으면 0)
+     * 발급할 때마다 커진다. 이 값을 읽은 뒤에 발급하는 ID 는 모두 이보다 크다.
+     */
+    long lastId();
+}
@@ -0,0 +1,26 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 상품 ID 생성기 설정
+ * item-id.generator=sequence (기본값, 서버 한 대) | snowflake (여러 서버, item-id.node-id 는 서버마다 다르게)
+ */
+@Configuration
+public class ItemIdGeneratorConfig {
+
+    @Bean
+    public ItemIdGenerator itemIdGenerator(@Value("${item-id.generator:sequence}") String generator,
+                                           @Value("${item-id.node-id:0}") int nodeId) {
+        switch (generator) {
+            case "sequence":
+                return new SequenceItemIdGenerator();
+            case "snowflake":
+                return new SnowflakeItemIdGenerator(nodeId);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 item-id.generator 입니다. generator=" + generator);
+        }
+    }
+}
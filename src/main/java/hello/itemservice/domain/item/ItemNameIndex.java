@@ -0,0 +1,525 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품명 검색 색인 (3-gram 역색인)
+ * 상품명(소문자)을 3글자씩 잘라서 글자 조각 -> 문서 번호(int) 목록으로 보관한다. 저장/수정 알림마다 바뀐 상품만 갱신한다.
+ * 문서 번호는 색인에 처음 들어온 순서로 붙이는 int 라서 목록을 int 배열 그대로 정렬해서 둔다. (박싱 없음)
+ *
+ * 조각 목록은 조각 해시로 STRIPE_COUNT 개의 구간에 나눠 담고 구간마다 락을 둔다.
+ * 알림은 저장소의 쓰기 락 안에서 오기 때문에, 색인 전체 락을 쓰면 저장소의 구간이 달라도 쓰기가 모두 줄을 선다.
+ * 쓰기는 한 번에 한 구간의 락만 잡는다. 문서 번호 할당만 짧은 락(docLock)을 함께 쓴다.
+ *
+ * 검색: 검색어의 조각이 많이 겹치는 상품부터 (3분의 1 이상 겹쳐야 한다, 같으면 먼저 등록된 상품부터)
+ * 오타가 조금 있어도 찾는다. 3글자보다 짧은 검색어는 색인 없이 상품명에 포함되는지로 찾는다.
+ * 구간을 따로 읽기 때문에 검색과 동시에 바뀌는 상품은 일부 조각만 반영된 상태로 보일 수 있다. (결과는 저장소에서 다시 읽는다)
+ */
+@Component
+@Lazy(false)
+public class ItemNameIndex implements ItemChangeListener {
+
+    static final int GRAM = 3;
+    static final int STRIPE_COUNT = 16; //2의 제곱
+    private static final int STRIPE_BITS = Integer.numberOfTrailingZeros(STRIPE_COUNT);
+    public static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 50;
+
+    private final ItemRepository itemRepository;
+
+    private final Stripe[] stripes = createStripes();
+
+    private final ReadWriteLock docLock = new ReentrantReadWriteLock();
+    private final LongIntMap docIds = new LongIntMap(); //상품 ID -> 문서 번호
+    private long[] itemIds = new long[1024]; //문서 번호 -> 상품 ID
+    private int docCount;
+
+    public ItemNameIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+        itemRepository.addListener(this);
+        //등록 전에 저장된 상품 (이미 알림으로 들어온 상품은 건너뛴다)
+        for (ItemSnapshot item : itemRepository.findAll()) {
+            onChange(null, item);
+        }
+    }
+
+    /**
+     * 같은 상품의 알림은 저장소의 같은 구간 쓰기 락 안에서 오므로 한 상품을 두 스레드가 동시에 고치지 않는다.
+     */
+    @Override
+    public void onChange(ItemSnapshot before, ItemSnapshot after) {
+        int doc;
+        boolean created = false;
+        docLock.writeLock().lock();
+        try {
+            doc = docIds.get(after.getId());
+            if (doc < 0) {
+                doc = newDoc(after.getId());
+                created = true;
+            } else if (before == null) {
+                return;
+            }
+        } finally {
+            docLock.writeLock().unlock();
+        }
+
+        long[] removed = created ? new long[0] : grams(normalize(before.getItemName()));
+        long[] added = grams(normalize(after.getItemName()));
+        for (int index = 0; index < STRIPE_COUNT; index++) {
+            if (!hasStripe(removed, index) && !hasStripe(added, index)) {
+                continue;
+            }
+            Stripe stripe = stripes[index];
+            stripe.lock.writeLock().lock();
+            try {
+                for (long gram : removed) {
+                    IntList list = stripeIndex(gram) == index ? stripe.postings.get(gram) : null;
+                    if (list != null) {
+                        list.remove(doc);
+                    }
+                }
+                for (long gram : added) {
+                    if (stripeIndex(gram) == index) {
+                        stripe.postings.computeIfAbsent(gram, key -> new IntList()).insert(doc);
+                    }
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 저장소의 모든 쓰기 락 안에서 호출된다. (onChange 와 겹치지 않는다)
+     */
+    @Override
+    public void onClear() {
+        docLock.writeLock().lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.lock.writeLock().lock();
+                try {
+                    stripe.postings.clear();
+                } finally {
+                    stripe.lock.writeLock().unlock();
+                }
+            }
+            docIds.clear();
+            itemIds = new long[1024];
+            docCount = 0;
+        } finally {
+            docLock.writeLock().unlock();
+        }
+    }
+
+    private int newDoc(long itemId) {
+        if (docCount == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, itemIds.length * 2);
+        }
+        itemIds[docCount] = itemId;
+        docIds.put(itemId, docCount);
+        return docCount++;
+    }
+
+    /**
+     * 상품명 검색 (많이 겹치는 순서, 최대 limit 개)
+     */
+    public List<ItemSnapshot> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        long[] grams = grams(normalized);
+        if (grams.length == 0) {
+            String keyword = normalized;
+            List<ItemSnapshot> found = itemRepository.findAll(item -> normalize(item.getItemName()).contains(keyword));
+            return found.size() > limit ? found.subList(0, limit) : found;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (long itemId : searchIds(grams, limit)) {
+            ids.add(itemId);
+        }
+        return itemRepository.findAllById(ids);
+    }
+
+    /**
+     * 조각별 문서 목록을 문서 번호 순서로 함께 훑으면서(병합) 문서마다 겹친 수를 센다.
+     * 겹친 수마다 앞에서부터 limit 개까지만 담고, 겹친 수가 큰 것부터 채운다.
+     * 작업 공간은 (조각 수 + 1) * limit 이하라서 상품 수와 관계없다. (문서 수만큼의 배열을 두지 않는다)
+     */
+    long[] searchIds(long[] grams, int limit) {
+        int mask = 0;
+        for (long gram : grams) {
+            mask |= 1 << stripeIndex(gram);
+        }
+
+        int minMatches = (grams.length + 2) / 3;
+        IntList[] levels = new IntList[grams.length + 1];
+        int found = 0;
+        lockStripes(mask);
+        try {
+            List<IntList> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                IntList list = stripes[stripeIndex(gram)].postings.get(gram);
+                if (list != null && list.size > 0) {
+                    lists.add(list);
+                }
+            }
+            PostingMerger merger = new PostingMerger(lists);
+            while (merger.hasNext()) {
+                int doc = merger.next();
+                int count = merger.count;
+                if (count < minMatches) {
+                    continue;
+                }
+                if (levels[count] == null) {
+                    levels[count] = new IntList();
+                }
+                if (levels[count].size < limit) {
+                    levels[count].add(doc);
+                    found++;
+                }
+            }
+        } finally {
+            unlockStripes(mask);
+        }
+
+        long[] result = new long[Math.min(limit, found)];
+        int n = 0;
+        docLock.readLock().lock();
+        try {
+            for (int level = grams.length; level >= minMatches && n < result.length; level--) {
+                IntList docs = levels[level];
+                for (int i = 0; docs != null && i < docs.size && n < result.length; i++) {
+                    int doc = docs.values[i];
+                    if (doc < docCount) { //검색 중에 비워졌으면 건너뛴다.
+                        result[n++] = itemIds[doc];
+                    }
+                }
+            }
+        } finally {
+            docLock.readLock().unlock();
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    public int getDocCount() {
+        docLock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            docLock.readLock().unlock();
+        }
+    }
+
+    public int getGramCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                count += stripe.postings.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 색인이 차지하는 메모리 (대략, 64비트 JVM + compressed oops 기준)
+     * 조각마다 HashMap 항목(32) + Long 키(16) + IntList(24) + 배열 헤더(16) + 배열(4 * 용량)
+     * 검색 작업 공간은 검색이 끝나면 버리므로 넣지 않는다.
+     */
+    public long estimateMemoryBytes() {
+        long bytes;
+        docLock.readLock().lock();
+        try {
+            bytes = 16 + 8L * itemIds.length + docIds.estimateMemoryBytes();
+        } finally {
+            docLock.readLock().unlock();
+        }
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                bytes += 4L * stripe.postings.size() * 2;
+                for (IntList list : stripe.postings.values()) {
+                    bytes += 32 + 16 + 24 + 16 + 4L * list.values.length;
+                }
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return bytes;
+    }
+
+    static int stripeIndex(long gram) {
+        return (int) ((gram * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - STRIPE_BITS));
+    }
+
+    private static boolean hasStripe(long[] grams, int index) {
+        for (long gram : grams) {
+            if (stripeIndex(gram) == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * mask 에 표시된 구간의 읽기 락을 번호 순서대로 잡는다. (쓰기는 한 번에 한 구간만 잡으므로 교착 상태 없음)
+     */
+    private void lockStripes(int mask) {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                stripes[i].lock.readLock().lock();
+            }
+        }
+    }
+
+    private void unlockStripes(int mask) {
+        for (int i = STRIPE_COUNT - 1; i >= 0; i--) {
+            if ((mask & (1 << i)) != 0) {
+                stripes[i].lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static Stripe[] createStripes() {
+        Stripe[] created = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            created[i] = new Stripe();
+        }
+        return created;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 글자 3개를 long 하나로 (16비트씩), 중복 제거
+     */
+    static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * 구간: 조각 -> 문서 목록 + 락
+     */
+    private static class Stripe {
+
+        private final Map<Long, IntList> postings = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * 정렬된 문서 목록 여러 개를 문서 번호 순서로 함께 읽는다. (목록 수 크기의 최소 힙)
+     * next() 는 다음 문서 번호를 반환하고, 그 문서가 들어 있는 목록 수를 count 에 남긴다.
+     */
+    static class PostingMerger {
+
+        private final IntList[] lists;
+        private final int[] positions;
+        private final int[] heap; //목록 번호, 현재 문서 번호가 작은 순서
+        private int size;
+        int count;
+
+        PostingMerger(List<IntList> lists) {
+            this.lists = lists.toArray(new IntList[0]);
+            this.positions = new int[this.lists.length];
+            this.heap = new int[this.lists.length];
+            for (int i = 0; i < this.lists.length; i++) {
+                if (this.lists[i].size > 0) {
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean hasNext() {
+            return size > 0;
+        }
+
+        int next() {
+            int doc = head(heap[0]);
+            count = 0;
+            while (size > 0 && head(heap[0]) == doc) {
+                count++;
+                int list = heap[0];
+                if (++positions[list] == lists[list].size) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(0);
+            }
+            return doc;
+        }
+
+        private int head(int list) {
+            return lists[list].values[positions[list]];
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = index * 2 + 1;
+                int right = left + 1;
+                if (left < size && head(heap[left]) < head(heap[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && head(heap[right]) < head(heap[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                int swap = heap[index];
+                heap[index] = heap[smallest];
+                heap[smallest] = swap;
+                index = smallest;
+            }
+        }
+    }
+
+    /**
+     * 정렬된 int 목록 (문서 번호)
+     */
+    static class IntList {
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * 정렬 순서를 지키며 넣는다. (새 문서는 가장 큰 번호라서 대부분 맨 뒤에 붙는다)
+         */
+        void insert(int value) {
+            if (size == 0 || values[size - 1] < value) {
+                add(value);
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            int position = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+        }
+
+        void remove(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * long -> int 해시맵 (열린 주소법, 박싱 없음)
+     * 상품 ID 는 0보다 커서 0을 빈 칸으로 쓴다.
+     */
+    static class LongIntMap {
+
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        void clear() {
+            keys = new long[1024];
+            values = new int[1024];
+            size = 0;
+        }
+
+        long estimateMemoryBytes() {
+            return 32 + 12L * keys.length;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
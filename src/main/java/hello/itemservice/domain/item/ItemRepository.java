@@ -1,41 +1,490 @@
 package hello.itemservice.domain.item;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * 상품 저장소
+ * 불변 ItemSnapshot 을 보관한다. 수정은 새 스냅샷으로 교체하기 때문에 조회한 객체는 바뀌지 않는다.
+ *
+ * ID 해시로 SHARD_COUNT 개의 구간(shard)에 나눠 담고 구간마다 락을 따로 둔다. 다른 구간의 쓰기는 서로 기다리지 않는다.
+ * 여러 구간에 걸친 작업(배치 저장/수정, 전체 조회)은 필요한 구간의 락을 번호 순서대로 모두 잡는다. (교착 상태 없음)
+ * 구간은 ID 순서로 정렬된 맵이라서 전체 조회는 구간별로 병렬(fork-join)로 읽고 ID 순서로 합친다.
+ */
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    static final int SHARD_COUNT = 16; //2의 제곱
+    private static final int SHARD_BITS = Integer.numberOfTrailingZeros(SHARD_COUNT);
+    private static final int ALL_SHARDS = (1 << SHARD_COUNT) - 1;
+    /**
+     * 이보다 적으면 병렬로 나누지 않고 한 스레드에서 읽는다.
+     */
+    private static final int PARALLEL_SCAN_THRESHOLD = 10_000;
 
-    public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
+    private static final Shard[] shards = createShards(); //static
+
+    private static final int IN_FLIGHT_SLOTS = 256; //2의 제곱
+    private static final long IDLE = Long.MAX_VALUE;
+
+    private final ItemIdGenerator idGenerator;
+    /**
+     * 저장 중 표시: 저장 중인 스레드가 받을(받은) ID 의 하한, 빈 칸은 IDLE
+     * ID 는 구간 락을 잡기 전에 발급하므로 뒤에 발급한 큰 ID 가 먼저 저장될 수 있다.
+     * iterateAfter 는 가장 작은 하한 앞까지만 읽는다. (이어 읽을 때 빠지는 상품이 없다)
+     * 칸마다 CAS 로 쓰기 때문에 저장끼리 기다리지 않는다.
+     */
+    private final AtomicLongArray inFlight = idleSlots();
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ItemRepository() {
+        this(new SequenceItemIdGenerator());
+    }
+
+    @Autowired
+    public ItemRepository(ItemIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * 저장/수정 알림 등록 (변경 로그 등)
+     */
+    public void addListener(ItemChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public ItemSnapshot save(Item item) {
+        int slot = enter();
+        try {
+            long id = idGenerator.nextId();
+            inFlight.set(slot, id);
+            ItemSnapshot saved = ItemSnapshot.of(id, item);
+            Shard shard = shardOf(id);
+            shard.lock.writeLock().lock();
+            try {
+                insert(shard, saved);
+                return saved;
+            } finally {
+                shard.lock.writeLock().unlock();
+                afterChange();
+            }
+        } finally {
+            exit(slot);
+        }
+    }
+
+    /**
+     * 여러 상품 저장
+     * 관련된 구간의 락을 모두 잡고 저장한다. (배치 단위로 원자적)
+     */
+    public List<ItemSnapshot> saveAll(List<Item> items) {
+        List<ItemSnapshot> savedItems = new ArrayList<>(items.size());
+        int slot = enter();
+        try {
+            int mask = 0;
+            long id = 0;
+            int reserved = 0;
+            for (Item item : items) {
+                if (reserved == 0) {
+                    //ID 는 블록 단위로 한 번에 예약한다.
+                    reserved = Math.min(idGenerator.maxBlockSize(), items.size() - savedItems.size());
+                    id = reserved == 1 ? idGenerator.nextId() : idGenerator.nextIds(reserved);
+                    if (savedItems.isEmpty()) {
+                        inFlight.set(slot, id); //다음 블록은 더 크다.
+                    }
+                }
+                ItemSnapshot saved = ItemSnapshot.of(id++, item);
+                reserved--;
+                savedItems.add(saved);
+                mask |= 1 << shardIndex(saved.getId());
+            }
+
+            lock(mask, ReadWriteLock::writeLock);
+            try {
+                for (ItemSnapshot saved : savedItems) {
+                    insert(shardOf(saved.getId()), saved);
+                }
+                return savedItems;
+            } finally {
+                unlock(mask, ReadWriteLock::writeLock);
+                afterChange();
+            }
+        } finally {
+            exit(slot);
+        }
+    }
+
+    /**
+     * 단건 조회는 락 없이 저장된 스냅샷을 그대로 반환한다.
+     */
+    public ItemSnapshot findById(Long id) {
+        return shardOf(id).items.get(id);
+    }
+
+    /**
+     * 여러 ID 조회 (없는 ID 는 결과에서 빠진다)
+     * 읽기 락: 배치 저장/수정의 중간 상태를 보지 않는다.
+     */
+    public List<ItemSnapshot> findAllById(Collection<Long> ids) {
+        int mask = 0;
+        for (Long id : ids) {
+            mask |= 1 << shardIndex(id);
+        }
+
+        List<ItemSnapshot> result = new ArrayList<>(ids.size());
+        lock(mask, ReadWriteLock::readLock);
+        try {
+            for (Long id : ids) {
+                ItemSnapshot item = shardOf(id).items.get(id);
+                if (item != null) {
+                    result.add(item);
+                }
+            }
+        } finally {
+            unlock(mask, ReadWriteLock::readLock);
+        }
+        return result;
     }
 
-    public Item findById(Long id) {
-        return store.get(id);
+    /**
+     * 전체 조회 (ID 순서)
+     */
+    public List<ItemSnapshot> findAll() {
+        return findAll(null);
     }
 
-    public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+    /**
+     * 조건에 맞는 상품 조회 (ID 순서)
+     * 모든 구간의 읽기 락을 잡은 상태에서 구간별로 병렬로 거르고 ID 순서로 합친다. (한 시점의 결과)
+     *
+     * @param filter null 이면 전체
+     */
+    public List<ItemSnapshot> findAll(Predicate<ItemSnapshot> filter) {
+        lock(ALL_SHARDS, ReadWriteLock::readLock);
+        try {
+            Stream<Shard> stream = Stream.of(shards);
+            if (size() >= PARALLEL_SCAN_THRESHOLD) {
+                stream = stream.parallel(); //호출한 스레드가 락을 잡고 있으므로 작업 스레드는 락 없이 읽는다.
+            }
+            List<List<ItemSnapshot>> parts = stream
+                    .map(shard -> shard.collect(filter))
+                    .collect(Collectors.toList());
+            return merge(parts);
+        } finally {
+            unlock(ALL_SHARDS, ReadWriteLock::readLock);
+        }
+    }
+
+    /**
+     * 저장된 상품 수 (락 없음, 동시에 쓰는 중이면 근사값)
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.items.size();
+        }
+        return size;
+    }
+
+    /**
+     * ID 순서로 afterId 다음 상품부터 하나씩 읽는다. (전체를 복사하지 않는다)
+     * 시작할 때 저장이 끝난 ID 까지만 읽는다. 저장 중인 ID 보다 큰 상품은 다음에 이어 읽을 때 나온다.
+     * 그래서 마지막으로 받은 ID 로 이어 읽어도 빠지는 상품이 없다. 각 상품은 읽는 시점의 스냅샷이다. (락 없음)
+     * 구간마다 ID 순서로 읽으면서 가장 작은 ID 부터 내보낸다.
+     */
+    public Iterator<ItemSnapshot> iterateAfter(long afterId) {
+        long lastId = completedId();
+
+        PriorityQueue<ShardCursor> cursors = new PriorityQueue<>();
+        if (lastId > afterId) {
+            for (Shard shard : shards) {
+                ShardCursor cursor = new ShardCursor(shard.items.subMap(afterId, false, lastId, true).values().iterator());
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public ItemSnapshot next() {
+                ShardCursor cursor = cursors.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                ItemSnapshot current = cursor.current;
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                return current;
+            }
+        };
+    }
+
+    /**
+     * 모든 구간의 읽기 락 안에서 실행한다.
+     * 리스너는 쓰기 락 안에서 호출되기 때문에, 리스너가 관리하는 집계를 저장/수정 중간 상태 없이 읽을 수 있다.
+     */
+    public <T> T withReadLock(Supplier<T> reader) {
+        lock(ALL_SHARDS, ReadWriteLock::readLock);
+        try {
+            return reader.get();
+        } finally {
+            unlock(ALL_SHARDS, ReadWriteLock::readLock);
+        }
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        Shard shard = shardOf(itemId);
+        shard.lock.writeLock().lock();
+        try {
+            replace(shard, shard.items.get(itemId), updateParam);
+        } finally {
+            shard.lock.writeLock().unlock();
+            afterChange();
+        }
+    }
+
+    /**
+     * 여러 상품 수정 (key: itemId)
+     * 없는 ID 가 하나라도 있으면 아무것도 수정하지 않는다. (배치 단위로 원자적)
+     */
+    public void updateAll(Map<Long, Item> updateParams) {
+        int mask = 0;
+        for (Long itemId : updateParams.keySet()) {
+            mask |= 1 << shardIndex(itemId);
+        }
+
+        lock(mask, ReadWriteLock::writeLock);
+        try {
+            for (Long itemId : updateParams.keySet()) {
+                if (!shardOf(itemId).items.containsKey(itemId)) {
+                    throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+                }
+            }
+            updateParams.forEach((itemId, updateParam) -> {
+                Shard shard = shardOf(itemId);
+                replace(shard, shard.items.get(itemId), updateParam);
+            });
+        } finally {
+            unlock(mask, ReadWriteLock::writeLock);
+            afterChange();
+        }
+    }
+
+    /**
+     * ID 를 받기 전에 빈 칸에 하한(지금까지 발급한 가장 큰 ID + 1)을 적는다.
+     * 표시가 발급보다 먼저라서 completedId 가 발급만 되고 표시되지 않은 ID 를 건너뛰지 않는다.
+     *
+     * @return 저장을 마치면 exit 로 비울 칸
+     */
+    private int enter() {
+        long floor = idGenerator.lastId() + 1;
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; ; i++) {
+            int slot = (start + i) & (IN_FLIGHT_SLOTS - 1);
+            if (inFlight.get(slot) == IDLE && inFlight.compareAndSet(slot, IDLE, floor)) {
+                return slot;
+            }
+            if ((i & (IN_FLIGHT_SLOTS - 1)) == IN_FLIGHT_SLOTS - 1) {
+                Thread.onSpinWait(); //모든 칸이 저장 중
+            }
+        }
+    }
+
+    private void exit(int slot) {
+        inFlight.set(slot, IDLE);
+    }
+
+    /**
+     * 이 ID 까지는 발급한 상품의 저장이 모두 끝났다.
+     * 발급한 가장 큰 ID 를 먼저 읽는다. 그 안의 ID 는 이미 저장됐거나, 발급 전에 적은 표시가 아래에서 보인다.
+     */
+    private long completedId() {
+        long completed = idGenerator.lastId();
+        for (int i = 0; i < IN_FLIGHT_SLOTS; i++) {
+            completed = Math.min(completed, inFlight.get(i) - 1);
+        }
+        return completed;
+    }
+
+    private void insert(Shard shard, ItemSnapshot saved) {
+        shard.items.put(saved.getId(), saved);
+        publish(null, saved);
+    }
+
+    private void replace(Shard shard, ItemSnapshot findItem, Item updateParam) {
+        ItemSnapshot updated = ItemSnapshot.of(findItem.getId(), updateParam);
+        shard.items.put(updated.getId(), updated);
+        publish(findItem, updated);
+    }
+
+    private void publish(ItemSnapshot before, ItemSnapshot after) {
+        for (ItemChangeListener listener : listeners) {
+            listener.onChange(before, after);
+        }
+    }
+
+    /**
+     * 쓰기 락을 푼 뒤 (예외로 끝나도 호출한다)
+     */
+    private void afterChange() {
+        for (ItemChangeListener listener : listeners) {
+            listener.afterChange();
+        }
     }
 
     public void clearStore() {
-        store.clear();
+        lock(ALL_SHARDS, ReadWriteLock::writeLock);
+        try {
+            for (Shard shard : shards) {
+                shard.items.clear();
+            }
+            for (ItemChangeListener listener : listeners) {
+                listener.onClear();
+            }
+        } finally {
+            unlock(ALL_SHARDS, ReadWriteLock::writeLock);
+        }
+    }
+
+    /**
+     * 피보나치 해시: 연속된 ID(시퀀스)나 하위 비트가 몰린 ID(Snowflake 순번)도 고르게 나눈다.
+     */
+    static int shardIndex(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - SHARD_BITS));
+    }
+
+    private static Shard shardOf(long id) {
+        return shards[shardIndex(id)];
+    }
+
+    /**
+     * mask 에 표시된 구간의 락을 번호 순서대로 잡는다.
+     */
+    private static void lock(int mask, Function<ReadWriteLock, Lock> lockType) {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                lockType.apply(shards[i].lock).lock();
+            }
+        }
+    }
+
+    private static void unlock(int mask, Function<ReadWriteLock, Lock> lockType) {
+        for (int i = SHARD_COUNT - 1; i >= 0; i--) {
+            if ((mask & (1 << i)) != 0) {
+                lockType.apply(shards[i].lock).unlock();
+            }
+        }
     }
 
+    /**
+     * 구간별로 ID 순서인 목록을 하나로 합친다.
+     */
+    private static List<ItemSnapshot> merge(List<List<ItemSnapshot>> parts) {
+        int total = 0;
+        PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(parts.size());
+        for (List<ItemSnapshot> part : parts) {
+            total += part.size();
+            ShardCursor cursor = new ShardCursor(part.iterator());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        List<ItemSnapshot> result = new ArrayList<>(total);
+        ShardCursor cursor;
+        while ((cursor = cursors.poll()) != null) {
+            result.add(cursor.current);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static AtomicLongArray idleSlots() {
+        AtomicLongArray slots = new AtomicLongArray(IN_FLIGHT_SLOTS);
+        for (int i = 0; i < IN_FLIGHT_SLOTS; i++) {
+            slots.set(i, IDLE);
+        }
+        return slots;
+    }
+
+    private static Shard[] createShards() {
+        Shard[] created = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            created[i] = new Shard();
+        }
+        return created;
+    }
+
+    /**
+     * 구간: ID 순서로 정렬된 맵 (조회는 락 없음) + 쓰기용 락
+     */
+    private static class Shard {
+
+        private final ConcurrentNavigableMap<Long, ItemSnapshot> items = new ConcurrentSkipListMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        List<ItemSnapshot> collect(Predicate<ItemSnapshot> filter) {
+            if (filter == null) {
+                return new ArrayList<>(items.values());
+            }
+            List<ItemSnapshot> result = new ArrayList<>();
+            for (ItemSnapshot item : items.values()) {
+                if (filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 합칠 때 쓰는 구간별 읽기 위치 (현재 상품의 ID 로 정렬)
+     */
+    private static class ShardCursor implements Comparable<ShardCursor> {
+
+        private final Iterator<ItemSnapshot> iterator;
+        private ItemSnapshot current;
+
+        ShardCursor(Iterator<ItemSnapshot> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            current = iterator.hasNext() ? iterator.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public int compareTo(ShardCursor other) {
+            return Long.compare(current.getId(), other.current.getId());
+        }
+    }
 }
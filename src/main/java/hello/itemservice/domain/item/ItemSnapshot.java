@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Value;
+
+/**
+ * 저장소가 보관하는 상품 (불변)
+ * 조회하면 저장된 인스턴스를 복사 없이 그대로 돌려준다. 여러 스레드가 동시에 읽어도 안전하다.
+ * 폼 바인딩에는 기존처럼 Item, ItemSaveForm, ItemUpdateForm 을 사용한다.
+ */
+@Value
+public class ItemSnapshot {
+
+    Long id;
+    String itemName;
+    Integer price;
+    Integer quantity;
+
+    public static ItemSnapshot of(Long id, Item item) {
+        return new ItemSnapshot(id, item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+}
@@ -0,0 +1,30 @@
+package hello.itemservice.domain.item;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 1부터 차례로 증가하는 ID (기본값, 서버 한 대용)
+ * 저장소(store)가 static 이라서 번호도 static 으로 같이 공유한다.
+ */
+public class SequenceItemIdGenerator implements ItemIdGenerator {
+
+    private static final AtomicLong sequence = new AtomicLong(); //static
+
+    @Override
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public long nextIds(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count 는 1 이상이어야 합니다. count=" + count);
+        }
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    @Override
+    public long lastId() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,117 @@
+package hello.itemservice.domain.item;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 시각 + 노드 + 순번 ID (Snowflake, 여러 서버용)
+ * 서버끼리 통신하지 않아도 노드 ID 가 다르면 겹치지 않는다. 시간 순서로 대략 정렬된다.
+ *
+ * [0][시각 41비트: EPOCH 부터 ms][노드 10비트][순번 12비트]
+ * 마지막으로 발급한 (시각, 순번)을 long 하나에 넣고 CAS 로 갱신한다. (락 없음)
+ *
+ * 시계가 뒤로 가거나 같은 ms 에 순번(4096개)을 다 쓰면 기다리지 않고 마지막 시각에서 이어서 발급한다.
+ * (순번이 넘치면 다음 ms 로 넘어간다) 그래서 한 프로세스 안에서는 ID 가 항상 증가하고 겹치지 않는다.
+ * 단, 시계가 뒤로 간 상태에서 재시작하면 이전 ID 와 겹칠 수 있다.
+ */
+public class SnowflakeItemIdGenerator implements ItemIdGenerator {
+
+    static final long EPOCH = 1609459200000L; //2021-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    /**
+     * (시각 << SEQUENCE_BITS) | 순번
+     */
+    private final AtomicLong last = new AtomicLong();
+    private final LongAdder aheadOfClock = new LongAdder();
+
+    public SnowflakeItemIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeItemIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다. nodeId=" + nodeId);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        return nextIds(1);
+    }
+
+    /**
+     * 같은 ms 안에서 순번 count 개를 한 번의 CAS 로 예약한다. (ID 가 연속이려면 시각이 같아야 한다)
+     * 현재 ms 에 남은 순번이 모자라면 다음 ms 의 순번 0부터 예약한다.
+     */
+    @Override
+    public long nextIds(int count) {
+        if (count < 1 || count > maxBlockSize()) {
+            throw new IllegalArgumentException("count 는 1 ~ " + maxBlockSize() + " 사이여야 합니다. count=" + count);
+        }
+        while (true) {
+            long current = last.get();
+            long now = clock.getAsLong() - EPOCH;
+            if (now < 0) {
+                throw new IllegalStateException("시스템 시각이 " + EPOCH + " 보다 이전입니다.");
+            }
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            //새 ms 면 순번 0부터, 아니면(같은 ms, 시계 역행) 마지막 값 + 1
+            long first = now > lastTimestamp ? now << SEQUENCE_BITS : current + 1;
+            if ((first & SEQUENCE_MASK) + count > SEQUENCE_MASK + 1) {
+                first = ((first >>> SEQUENCE_BITS) + 1) << SEQUENCE_BITS;
+            }
+            if (last.compareAndSet(current, first + count - 1)) {
+                if (first >>> SEQUENCE_BITS > now) {
+                    aheadOfClock.increment();
+                }
+                return toId(first);
+            }
+        }
+    }
+
+    /**
+     * 마지막으로 예약한 (시각, 순번)의 ID
+     */
+    @Override
+    public long lastId() {
+        long current = last.get();
+        return current == 0 ? 0 : toId(current);
+    }
+
+    private long toId(long timestampAndSequence) {
+        return (timestampAndSequence >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node | (timestampAndSequence & SEQUENCE_MASK);
+    }
+
+    /**
+     * 한 ms 의 순번 개수
+     */
+    @Override
+    public int maxBlockSize() {
+        return (int) SEQUENCE_MASK + 1;
+    }
+
+    /**
+     * 시계보다 앞선 시각으로 발급한 ID 수 (시계 역행, 같은 ms 에 순번 초과)
+     */
+    public long getAheadOfClock() {
+        return aheadOfClock.sum();
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
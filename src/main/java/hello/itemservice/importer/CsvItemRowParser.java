@@ -0,0 +1,113 @@
+package hello.itemservice.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * CSV: itemName,price,quantity
+ * 상품명은 큰따옴표로 감쌀 수 있다. (쉼표 포함, "" 는 " 하나)
+ */
+class CsvItemRowParser extends ItemRowParser {
+
+    private static final byte[] HEADER = "itemName".getBytes(StandardCharsets.US_ASCII);
+    private static final int COLUMNS = 3;
+
+    private final int[] starts = new int[COLUMNS];
+    private final int[] ends = new int[COLUMNS];
+    private byte[] unquoted = new byte[256];
+
+    @Override
+    boolean isHeader(byte[] line, int length) {
+        int from = 0;
+        if (length >= 3 && (line[0] & 0xFF) == 0xEF && (line[1] & 0xFF) == 0xBB && (line[2] & 0xFF) == 0xBF) {
+            from = 3; //UTF-8 BOM
+        }
+        if (length - from < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (line[from + i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void parse(byte[] line, int length, ItemRow row) {
+        if (length > 0 && line[0] == '"') {
+            parseQuotedName(line, length, row);
+            return;
+        }
+
+        int column = 0;
+        starts[0] = 0;
+        for (int i = 0; i < length; i++) {
+            if (line[i] == ',') {
+                if (column == COLUMNS - 1) {
+                    row.formatError = "columns";
+                    return;
+                }
+                ends[column++] = i;
+                starts[column] = i + 1;
+            }
+        }
+        if (column != COLUMNS - 1) {
+            row.formatError = "columns";
+            return;
+        }
+        ends[column] = length;
+
+        row.itemName = new String(line, starts[0], ends[0] - starts[0], StandardCharsets.UTF_8);
+        setNumber(row, true, line, starts[1], ends[1]);
+        setNumber(row, false, line, starts[2], ends[2]);
+    }
+
+    private void parseQuotedName(byte[] line, int length, ItemRow row) {
+        int count = 0;
+        int i = 1;
+        while (true) {
+            if (i >= length) {
+                row.formatError = "quote";
+                return;
+            }
+            if (line[i] == '"') {
+                if (i + 1 < length && line[i + 1] == '"') {
+                    unquoted = ensure(unquoted, count + 1);
+                    unquoted[count++] = '"';
+                    i += 2;
+                    continue;
+                }
+                i++;
+                break;
+            }
+            unquoted = ensure(unquoted, count + 1);
+            unquoted[count++] = line[i++];
+        }
+        if (i >= length || line[i] != ',') {
+            row.formatError = "columns";
+            return;
+        }
+        int second = indexOf(line, i + 1, length);
+        if (second < 0 || indexOf(line, second + 1, length) >= 0) {
+            row.formatError = "columns";
+            return;
+        }
+        row.itemName = new String(unquoted, 0, count, StandardCharsets.UTF_8);
+        setNumber(row, true, line, i + 1, second);
+        setNumber(row, false, line, second + 1, length);
+    }
+
+    private static int indexOf(byte[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line[i] == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ensure(byte[] bytes, int size) {
+        return size <= bytes.length ? bytes : Arrays.copyOf(bytes, bytes.length * 2);
+    }
+}
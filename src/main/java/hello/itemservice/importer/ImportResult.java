@@ -0,0 +1,42 @@
+package hello.itemservice.importer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 가져오기 결과
+ * rejected: 거절된 줄 (앞에서부터 최대 ItemImporter.MAX_REPORTED_REJECTS 개)
+ * peakHeapBytes: 가져오는 동안 힙 메모리 풀별 최대 사용량의 합
+ */
+@Getter
+@RequiredArgsConstructor
+public class ImportResult {
+
+    private final String file;
+    private final long totalRows;
+    private final long importedRows;
+    private final long rejectedRows;
+    private final long elapsedMillis;
+    private final long rowsPerSecond;
+    private final long peakHeapBytes;
+    private final List<RejectedRow> rejected;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RejectedRow {
+        private final long line;
+
+        /**
+         * 필드 오류는 "필드:코드", 복합 룰 오류는 "코드" (예: price:Range, totalPriceMin)
+         */
+        private final List<String> errors;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("file=%s, rows=%d, imported=%d, rejected=%d, elapsed=%dms, rows/s=%d, peakHeap=%dMB",
+                file, totalRows, importedRows, rejectedRows, elapsedMillis, rowsPerSecond, peakHeapBytes / (1024 * 1024));
+    }
+}
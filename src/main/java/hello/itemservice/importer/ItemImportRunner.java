@@ -0,0 +1,46 @@
+package hello.itemservice.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * 기동할 때 상품 가져오기 (item-import.file=경로)
+ * 기동을 기다리게 하지 않도록 별도 스레드에서 실행한다.
+ */
+@Slf4j
+@Component
+public class ItemImportRunner {
+
+    private final ItemImporter itemImporter;
+    private final String file;
+
+    public ItemImportRunner(ItemImporter itemImporter, @Value("${item-import.file:}") String file) {
+        this.itemImporter = itemImporter;
+        this.file = file;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void importOnStartup() {
+        if (!StringUtils.hasText(file)) {
+            return;
+        }
+        Thread importer = new Thread(this::run, "item-import");
+        importer.setDaemon(true);
+        importer.start();
+    }
+
+    private void run() {
+        try {
+            itemImporter.importFile(Paths.get(file));
+        } catch (IOException | RuntimeException e) {
+            log.error("상품 가져오기 실패 file={}", file, e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package hello.itemservice.importer;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 대량 가져오기 (CSV, NDJSON)
+ * 파일을 버퍼 단위로 읽고 줄마다 바이트에서 바로 파싱한다.
+ * 검증은 상품 등록 폼(ItemSaveForm)과 같다. @Validated 검증기 + 가격 * 수량 복합 룰(totalPriceMin)
+ * 줄마다 입력이 달라서 검증 결과 캐시(ValidationResultCache)는 쓰지 않는다.
+ * 통과한 줄은 BATCH_SIZE 개씩 모아서 saveAll 로 저장한다.
+ *
+ * 한 번에 하나만 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+
+    static final int BATCH_SIZE = 10_000;
+    static final int MAX_REPORTED_REJECTS = 1_000;
+    private static final String OBJECT_NAME = "itemSaveForm";
+
+    private final ItemRepository itemRepository;
+    private final ItemPropertyValidator itemPropertyValidator;
+    private final ItemRulesHolder itemRulesHolder;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 파일 형식 (.csv, .ndjson, .jsonl)
+     * @throws IllegalStateException 이미 가져오는 중
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        ItemRowParser parser = parserFor(file);
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 가져오는 중입니다.");
+        }
+        try {
+            return doImport(file, parser);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ImportResult doImport(Path file, ItemRowParser parser) throws IOException {
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+
+        ItemRules rules = itemRulesHolder.get(); //가져오는 동안 같은 규칙 사용
+        ItemRow row = new ItemRow();
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+        List<ImportResult.RejectedRow> rejected = new ArrayList<>();
+        long total = 0;
+        long imported = 0;
+        long rejectedCount = 0;
+
+        try (LineReader reader = new LineReader(file)) {
+            boolean first = true;
+            while (reader.next()) {
+                if (isBlank(reader.line(), reader.length())) {
+                    continue;
+                }
+                if (first) {
+                    first = false;
+                    if (parser.isHeader(reader.line(), reader.length())) {
+                        continue;
+                    }
+                }
+
+                total++;
+                row.clear();
+                parser.parse(reader.line(), reader.length(), row);
+                List<String> errors = validate(row, rules);
+                if (errors != null) {
+                    rejectedCount++;
+                    if (rejected.size() < MAX_REPORTED_REJECTS) {
+                        rejected.add(new ImportResult.RejectedRow(reader.lineNumber(), errors));
+                    }
+                    continue;
+                }
+
+                batch.add(new Item(row.itemName, row.price, row.quantity));
+                if (batch.size() == BATCH_SIZE) {
+                    itemRepository.saveAll(batch);
+                    imported += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            itemRepository.saveAll(batch);
+            imported += batch.size();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long rowsPerSecond = elapsedNanos == 0 ? 0 : total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        ImportResult result = new ImportResult(file.getFileName().toString(), total, imported, rejectedCount,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond, peakHeap, rejected);
+        log.info("상품 가져오기 완료 {}", result);
+        return result;
+    }
+
+    /**
+     * @return 오류 코드 목록, 통과하면 null
+     */
+    private List<String> validate(ItemRow row, ItemRules rules) {
+        if (row.formatError != null) {
+            return List.of("format:" + row.formatError);
+        }
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(row.itemName);
+        form.setPrice(row.price);
+        form.setQuantity(row.quantity);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+        //숫자가 아닌 값은 폼 바인딩과 같은 typeMismatch (해당 필드의 제약조건 검증은 생략된다)
+        if (row.priceMismatch != null) {
+            addTypeMismatch(bindingResult, "price", row.priceMismatch);
+        }
+        if (row.quantityMismatch != null) {
+            addTypeMismatch(bindingResult, "quantity", row.quantityMismatch);
+        }
+        itemPropertyValidator.validateWithoutCache(form, bindingResult);
+        rules.validateTotalPrice(form.getPrice(), form.getQuantity(), bindingResult);
+
+        if (!bindingResult.hasErrors()) {
+            return null;
+        }
+        List<String> errors = new ArrayList<>(bindingResult.getErrorCount());
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            errors.add(error instanceof FieldError ? ((FieldError) error).getField() + ":" + error.getCode() : error.getCode());
+        }
+        return errors;
+    }
+
+    private void addTypeMismatch(BindingResult bindingResult, String field, String rejectedValue) {
+        bindingResult.addError(new FieldError(OBJECT_NAME, field, rejectedValue, true,
+                bindingResult.resolveMessageCodes("typeMismatch", field), null, null));
+    }
+
+    private ItemRowParser parserFor(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return new CsvItemRowParser();
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new NdjsonItemRowParser();
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. (.csv, .ndjson, .jsonl) file=" + name);
+    }
+
+    private boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+}
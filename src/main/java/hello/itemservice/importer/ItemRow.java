@@ -0,0 +1,28 @@
+package hello.itemservice.importer;
+
+/**
+ * 한 줄 파싱 결과 (줄마다 재사용)
+ * 숫자로 바꿀 수 없는 값은 원래 문자열을 따로 보관한다. (typeMismatch 의 거절된 값)
+ */
+class ItemRow {
+
+    String itemName;
+    Integer price;
+    Integer quantity;
+    String priceMismatch;
+    String quantityMismatch;
+
+    /**
+     * 줄 형식 오류 (열 개수, JSON 문법 등). 있으면 검증하지 않는다.
+     */
+    String formatError;
+
+    void clear() {
+        itemName = null;
+        price = null;
+        quantity = null;
+        priceMismatch = null;
+        quantityMismatch = null;
+        formatError = null;
+    }
+}
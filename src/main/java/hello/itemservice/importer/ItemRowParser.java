@@ -0,0 +1,73 @@
+package hello.itemservice.importer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 한 줄(바이트)을 ItemRow 로 파싱한다.
+ * 숫자는 바이트에서 바로 int 로 바꾼다. 문자열은 저장할 상품명만 만든다.
+ */
+abstract class ItemRowParser {
+
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * 첫 줄이 헤더인지
+     */
+    abstract boolean isHeader(byte[] line, int length);
+
+    abstract void parse(byte[] line, int length, ItemRow row);
+
+    /**
+     * 숫자 필드 값을 넣는다. 앞뒤 공백은 무시하고 빈 값은 null (폼 바인딩과 같다)
+     */
+    static void setNumber(ItemRow row, boolean price, byte[] bytes, int from, int to) {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        while (to > from && bytes[to - 1] == ' ') {
+            to--;
+        }
+        if (from == to) {
+            return;
+        }
+        long value = parseInt(bytes, from, to);
+        if (value == INVALID) {
+            String raw = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            if (price) {
+                row.priceMismatch = raw;
+            } else {
+                row.quantityMismatch = raw;
+            }
+            return;
+        }
+        if (price) {
+            row.price = (int) value;
+        } else {
+            row.quantity = (int) value;
+        }
+    }
+
+    /**
+     * @return int 범위의 정수가 아니면 INVALID
+     */
+    static long parseInt(byte[] bytes, int from, int to) {
+        boolean negative = false;
+        if (bytes[from] == '-' || bytes[from] == '+') {
+            negative = bytes[from] == '-';
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? INVALID : value;
+    }
+}
@@ -0,0 +1,106 @@
+package hello.itemservice.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 파일을 큰 버퍼 단위로 읽어서 한 줄씩 바이트 배열로 넘긴다. (String 을 만들지 않는다)
+ * 줄 버퍼는 재사용하므로 다음 줄을 읽기 전까지만 유효하다. 줄 끝의 \r\n, \n 은 제외한다.
+ */
+class LineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] line = new byte[256];
+    private int length;
+    private long lineNumber;
+    private boolean eof;
+
+    LineReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.flip(); //비어 있는 상태로 시작
+    }
+
+    /**
+     * @return 읽은 줄이 없으면 false (파일 끝)
+     */
+    boolean next() throws IOException {
+        length = 0;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                if (eof || !fill()) {
+                    if (read) {
+                        endLine();
+                    }
+                    return read;
+                }
+            }
+            byte[] array = buffer.array();
+            int start = buffer.position();
+            int end = buffer.limit();
+            int newline = start;
+            while (newline < end && array[newline] != '\n') {
+                newline++;
+            }
+            append(array, start, newline - start);
+            read = true;
+            if (newline < end) {
+                buffer.position(newline + 1);
+                endLine();
+                return true;
+            }
+            buffer.position(end);
+        }
+    }
+
+    private void endLine() {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        lineNumber++;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    private void append(byte[] source, int from, int count) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+        }
+        System.arraycopy(source, from, line, length, count);
+        length += count;
+    }
+
+    byte[] line() {
+        return line;
+    }
+
+    int length() {
+        return length;
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
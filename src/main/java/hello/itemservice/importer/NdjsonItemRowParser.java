@@ -0,0 +1,231 @@
+package hello.itemservice.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * NDJSON: 한 줄에 JSON 객체 하나 {"itemName":"itemA","price":10000,"quantity":10}
+ * 바인딩(Jackson)과 같게 처리한다.
+ * 모르는 필드는 무시, 숫자 필드의 문자열 값은 숫자로 변환, 빈 문자열과 null 은 null
+ * 중첩 객체, 배열은 지원하지 않는다. (형식 오류)
+ */
+class NdjsonItemRowParser extends ItemRowParser {
+
+    private static final byte[] ITEM_NAME = "itemName".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PRICE = "price".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUANTITY = "quantity".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] text = new byte[256];
+    private int textLength;
+    private int position;
+
+    @Override
+    boolean isHeader(byte[] line, int length) {
+        return false;
+    }
+
+    @Override
+    void parse(byte[] line, int length, ItemRow row) {
+        position = 0;
+        skipWhitespace(line, length);
+        if (!expect(line, length, '{')) {
+            row.formatError = "json";
+            return;
+        }
+        skipWhitespace(line, length);
+        if (position < length && line[position] == '}') {
+            position++;
+            checkEnd(line, length, row);
+            return;
+        }
+
+        while (true) {
+            skipWhitespace(line, length);
+            if (!readString(line, length)) {
+                row.formatError = "json";
+                return;
+            }
+            byte[] key = matchKey();
+            skipWhitespace(line, length);
+            if (!expect(line, length, ':')) {
+                row.formatError = "json";
+                return;
+            }
+            skipWhitespace(line, length);
+            if (!readValue(line, length, key, row)) {
+                row.formatError = "json";
+                return;
+            }
+            skipWhitespace(line, length);
+            if (position < length && line[position] == ',') {
+                position++;
+                continue;
+            }
+            if (!expect(line, length, '}')) {
+                row.formatError = "json";
+                return;
+            }
+            checkEnd(line, length, row);
+            return;
+        }
+    }
+
+    private void checkEnd(byte[] line, int length, ItemRow row) {
+        skipWhitespace(line, length);
+        if (position != length) {
+            row.formatError = "json";
+        }
+    }
+
+    /**
+     * @param key 아는 필드가 아니면 null (값은 건너뛴다)
+     */
+    private boolean readValue(byte[] line, int length, byte[] key, ItemRow row) {
+        if (position >= length) {
+            return false;
+        }
+        byte first = line[position];
+        if (first == '"') {
+            if (!readString(line, length)) {
+                return false;
+            }
+            if (key == ITEM_NAME) {
+                row.itemName = new String(text, 0, textLength, StandardCharsets.UTF_8);
+            } else if (key != null) {
+                setNumber(row, key == PRICE, text, 0, textLength);
+            }
+            return true;
+        }
+        if (first == '{' || first == '[') {
+            return false;
+        }
+
+        //숫자, true, false, null
+        int start = position;
+        while (position < length && line[position] != ',' && line[position] != '}'
+                && line[position] != ' ' && line[position] != '\t') {
+            position++;
+        }
+        if (position == start) {
+            return false;
+        }
+        if (isLiteral(line, start, position, "null")) {
+            return true;
+        }
+        if (key == ITEM_NAME) {
+            row.itemName = new String(line, start, position - start, StandardCharsets.UTF_8);
+        } else if (key != null) {
+            setNumber(row, key == PRICE, line, start, position);
+        }
+        return true;
+    }
+
+    /**
+     * 큰따옴표 문자열을 읽어서 text 에 담는다. (이스케이프 처리)
+     */
+    private boolean readString(byte[] line, int length) {
+        if (!expect(line, length, '"')) {
+            return false;
+        }
+        textLength = 0;
+        while (position < length) {
+            byte b = line[position++];
+            if (b == '"') {
+                return true;
+            }
+            if (b != '\\') {
+                append(b);
+                continue;
+            }
+            if (position >= length) {
+                return false;
+            }
+            byte escaped = line[position++];
+            switch (escaped) {
+                case 'n': append((byte) '\n'); break;
+                case 't': append((byte) '\t'); break;
+                case 'r': append((byte) '\r'); break;
+                case 'b': append((byte) '\b'); break;
+                case 'f': append((byte) '\f'); break;
+                case 'u':
+                    if (position + 4 > length) {
+                        return false;
+                    }
+                    int codePoint = hex(line, position);
+                    if (codePoint < 0) {
+                        return false;
+                    }
+                    position += 4;
+                    for (byte encoded : String.valueOf((char) codePoint).getBytes(StandardCharsets.UTF_8)) {
+                        append(encoded);
+                    }
+                    break;
+                default:
+                    append(escaped); // \" \\ \/
+            }
+        }
+        return false;
+    }
+
+    private static int hex(byte[] line, int from) {
+        int value = 0;
+        for (int i = from; i < from + 4; i++) {
+            int digit = Character.digit(line[i], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    private byte[] matchKey() {
+        if (equalsText(ITEM_NAME)) {
+            return ITEM_NAME;
+        }
+        if (equalsText(PRICE)) {
+            return PRICE;
+        }
+        if (equalsText(QUANTITY)) {
+            return QUANTITY;
+        }
+        return null;
+    }
+
+    private boolean equalsText(byte[] key) {
+        return textLength == key.length && Arrays.equals(text, 0, textLength, key, 0, key.length);
+    }
+
+    private static boolean isLiteral(byte[] line, int from, int to, String literal) {
+        if (to - from != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (line[from + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean expect(byte[] line, int length, char expected) {
+        if (position < length && line[position] == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace(byte[] line, int length) {
+        while (position < length && (line[position] == ' ' || line[position] == '\t')) {
+            position++;
+        }
+    }
+
+    private void append(byte b) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, text.length * 2);
+        }
+        text[textLength++] = b;
+    }
+}
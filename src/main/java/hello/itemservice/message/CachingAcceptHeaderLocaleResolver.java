@@ -0,0 +1,38 @@
+package hello.itemservice.message;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accept-Language 헤더 값 별로 지원 로케일을 한 번만 계산한다.
+ * 예) "en-US,en;q=0.9" -> en (메시지 파일이 있는 로케일로 정규화)
+ */
+public class CachingAcceptHeaderLocaleResolver extends AcceptHeaderLocaleResolver {
+
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    private final Map<String, Locale> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Locale resolveLocale(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_LANGUAGE);
+        if (header == null) {
+            return super.resolveLocale(request);
+        }
+        Locale cached = cache.get(header);
+        if (cached != null) {
+            return cached;
+        }
+        Locale locale = super.resolveLocale(request);
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(header, locale);
+        return locale;
+    }
+}
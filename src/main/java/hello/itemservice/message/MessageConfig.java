@@ -0,0 +1,39 @@
+package hello.itemservice.message;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 메시지 설정
+ * 스프링 부트의 기본 messageSource, localeResolver 대신 등록한다. (같은 빈 이름)
+ */
+@Configuration
+public class MessageConfig {
+
+    @Bean
+    public PreloadedMessageSource messageSource(@Value("${spring.messages.basename:messages}") List<String> basenames,
+                                                @Value("${spring.messages.fallback-to-system-locale:true}") boolean fallbackToSystemLocale,
+                                                @Value("${message.hot-reload:true}") boolean hotReload) {
+        return new PreloadedMessageSource(basenames, fallbackToSystemLocale, hotReload);
+    }
+
+    /**
+     * 지원 로케일: 메시지 파일이 있는 로케일 + 시스템 로케일
+     * 지원하지 않는 로케일은 시스템 로케일로 정규화한다. (메시지 파일이 없으면 어차피 시스템 로케일 메시지가 나온다)
+     */
+    @Bean
+    public LocaleResolver localeResolver(PreloadedMessageSource messageSource) {
+        CachingAcceptHeaderLocaleResolver localeResolver = new CachingAcceptHeaderLocaleResolver();
+        List<Locale> supportedLocales = new ArrayList<>(messageSource.getAvailableLocales());
+        supportedLocales.add(Locale.getDefault());
+        localeResolver.setSupportedLocales(supportedLocales);
+        localeResolver.setDefaultLocale(Locale.getDefault());
+        return localeResolver;
+    }
+}
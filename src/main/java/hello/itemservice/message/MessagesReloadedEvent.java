@@ -0,0 +1,13 @@
+package hello.itemservice.message;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 메시지 파일을 다시 읽었을 때 발행된다. (메시지를 캐시하는 곳에서 무효화할 때 사용)
+ */
+public class MessagesReloadedEvent extends ApplicationEvent {
+
+    public MessagesReloadedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,320 @@
+package hello.itemservice.message;
+
+import hello.itemservice.support.FileChangeWatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시작할 때 모든 메시지 파일(messages*.properties, errors*.properties)을 미리 읽어두는 MessageSource
+ * 로케일별로 찾을 순서를 미리 합친 Map 에서 바로 꺼낸다. (ResourceBundle 의 부모 체인을 매번 따라가지 않는다)
+ *
+ * 메시지 찾는 순서는 ResourceBundleMessageSource 와 같다.
+ * basename 순서 -> 요청 로케일(언어_국가, 언어) -> 해당 파일이 없으면 시스템 로케일 -> 기본 파일
+ *
+ * 메시지 파일이 파일 시스템에 있으면(개발 환경) 변경을 감지해서 재시작 없이 다시 읽고 통째로 교체한다.
+ */
+@Slf4j
+public class PreloadedMessageSource extends AbstractMessageSource
+        implements InitializingBean, DisposableBean, ApplicationEventPublisherAware {
+
+    private final List<String> basenames;
+    private final boolean fallbackToSystemLocale;
+    private final boolean watchFiles;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    private volatile Messages messages;
+    private ApplicationEventPublisher eventPublisher;
+    private FileChangeWatcher watcher;
+
+    public PreloadedMessageSource(List<String> basenames, boolean fallbackToSystemLocale, boolean watchFiles) {
+        this.basenames = List.copyOf(basenames);
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        this.watchFiles = watchFiles;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.eventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Set<Path> directories = new LinkedHashSet<>();
+        this.messages = load(directories);
+        if (watchFiles && !directories.isEmpty()) {
+            startWatching(directories);
+        }
+    }
+
+    /**
+     * 메시지 파일을 다시 읽어서 교체한다.
+     */
+    public void reload() throws IOException {
+        this.messages = load(new LinkedHashSet<>());
+        log.info("메시지 파일 다시 읽음 locales={}", messages.locales);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new MessagesReloadedEvent(this));
+        }
+    }
+
+    /**
+     * 메시지 파일이 있는 로케일 목록 (기본 파일 제외)
+     */
+    public Set<Locale> getAvailableLocales() {
+        return messages.locales;
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        return messages.resolved(locale).get(code);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Messages current = this.messages;
+        String message = current.resolved(locale).get(code);
+        if (message == null) {
+            return null;
+        }
+        Map<String, MessageFormat> formats = current.formats(locale);
+        if (formats == null) {
+            return createMessageFormat(message, locale);
+        }
+        return formats.computeIfAbsent(code, key -> createMessageFormat(message, locale));
+    }
+
+    /**
+     * 메시지/MessageFormat 을 보관 중인 로케일 수 (요청 로케일 수와 상관없이 지원 로케일 수 이하)
+     */
+    int getCachedLocaleCount() {
+        Messages current = this.messages;
+        Set<Locale> cached = new HashSet<>(current.resolved.keySet());
+        cached.addAll(current.formats.keySet());
+        return cached.size();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private Messages load(Set<Path> directories) throws IOException {
+        //basename -> (로케일 -> 메시지), 기본 파일은 Locale.ROOT
+        Map<String, Map<Locale, Map<String, String>>> bundles = new LinkedHashMap<>();
+        Set<Locale> locales = new LinkedHashSet<>();
+        for (String basename : basenames) {
+            Map<Locale, Map<String, String>> bundle = new HashMap<>();
+            for (Resource resource : resourceResolver.getResources("classpath*:" + basename + "*.properties")) {
+                Locale locale = localeOf(basename, resource.getFilename());
+                if (locale == null || bundle.containsKey(locale)) {
+                    continue; //다른 basename 으로 시작하는 파일이거나, 클래스패스 앞쪽에서 이미 읽은 파일
+                }
+                bundle.put(locale, read(resource));
+                if (!Locale.ROOT.equals(locale)) {
+                    locales.add(locale);
+                }
+                if (resource.isFile()) {
+                    directories.add(resource.getFile().toPath().getParent());
+                }
+            }
+            bundles.put(basename, bundle);
+        }
+
+        Messages loaded = new Messages(bundles, locales);
+        //미리 합쳐 둔다: 지원 로케일 + 시스템 로케일 + 기본
+        for (Locale locale : locales) {
+            loaded.resolved(locale);
+        }
+        loaded.resolved(Locale.getDefault());
+        loaded.resolved(Locale.ROOT);
+        return loaded;
+    }
+
+    private Locale localeOf(String basename, String filename) {
+        if (filename == null || !filename.endsWith(".properties")) {
+            return null;
+        }
+        String name = filename.substring(0, filename.length() - ".properties".length());
+        if (name.equals(basename)) {
+            return Locale.ROOT;
+        }
+        if (!name.startsWith(basename + "_")) {
+            return null;
+        }
+        return StringUtils.parseLocale(name.substring(basename.length() + 1));
+    }
+
+    private Map<String, String> read(Resource resource) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> result = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            result.put(key, properties.getProperty(key));
+        }
+        return result;
+    }
+
+    private void startWatching(Set<Path> directories) throws IOException {
+        watcher = FileChangeWatcher.start("message-file-watcher", directories, this::isMessageFile, () -> {
+            try {
+                reload();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private boolean isMessageFile(String filename) {
+        for (String basename : basenames) {
+            if (localeOf(basename, filename) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 읽어 둔 메시지 (교체 단위)
+     */
+    private class Messages {
+
+        private final Map<String, Map<Locale, Map<String, String>>> bundles;
+        private final Set<Locale> locales;
+        private final Map<Locale, Map<String, String>> resolved = new ConcurrentHashMap<>();
+        private final Map<Locale, Map<String, MessageFormat>> formats = new ConcurrentHashMap<>();
+
+        Messages(Map<String, Map<Locale, Map<String, String>>> bundles, Set<Locale> locales) {
+            this.bundles = bundles;
+            this.locales = Set.copyOf(locales);
+        }
+
+        /**
+         * 로케일별로 찾을 순서대로 합친 메시지
+         * 우선순위가 낮은 것부터 덮어쓴다: 마지막 basename 의 기본 파일 -> ... -> 첫 basename 의 요청 로케일 파일
+         * 같은 메시지가 되는 로케일은 한 키로 모은다. (임의의 Accept-Language 값으로 Map 이 커지지 않는다)
+         */
+        Map<String, String> resolved(Locale locale) {
+            return resolved.computeIfAbsent(keyOf(locale), key -> {
+                Map<String, String> merged = new HashMap<>();
+                List<String> reversed = new ArrayList<>(bundles.keySet());
+                Collections.reverse(reversed);
+                for (String basename : reversed) {
+                    List<Map<String, String>> chain = chain(bundles.get(basename), key);
+                    for (int i = chain.size() - 1; i >= 0; i--) {
+                        merged.putAll(chain.get(i));
+                    }
+                }
+                return Map.copyOf(merged);
+            });
+        }
+
+        /**
+         * MessageFormat 은 숫자 형식이 로케일마다 달라서 요청 로케일 그대로 보관한다.
+         * 메시지 파일이 있는 로케일, 시스템 로케일, 기본만 보관하고 나머지는 null (매번 만든다)
+         */
+        Map<String, MessageFormat> formats(Locale locale) {
+            if (!locales.contains(locale) && !Locale.getDefault().equals(locale) && !Locale.ROOT.equals(locale)) {
+                return null;
+            }
+            return formats.computeIfAbsent(locale, key -> new ConcurrentHashMap<>());
+        }
+
+        /**
+         * 합친 메시지의 키: 요청 로케일 후보 중 메시지 파일이 있는 가장 구체적인 로케일
+         * 후보가 하나도 없으면 찾는 순서가 시스템 로케일(없으면 기본 파일)과 같아서 그 키를 쓴다.
+         */
+        private Locale keyOf(Locale locale) {
+            Locale present = mostSpecificPresent(locale);
+            if (present == null && fallbackToSystemLocale) {
+                present = mostSpecificPresent(Locale.getDefault());
+            }
+            return present != null ? present : Locale.ROOT;
+        }
+
+        private Locale mostSpecificPresent(Locale locale) {
+            for (Locale candidate : candidateLocales(locale)) {
+                if (locales.contains(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * ResourceBundle 과 같은 후보 순서: 언어_국가_변형 -> 언어_국가 -> 언어 -> (없으면 시스템 로케일) -> 기본
+         */
+        private List<Map<String, String>> chain(Map<Locale, Map<String, String>> bundle, Locale locale) {
+            List<Map<String, String>> chain = candidates(bundle, locale);
+            Locale systemLocale = Locale.getDefault();
+            if (chain.isEmpty() && fallbackToSystemLocale && !systemLocale.equals(locale)) {
+                chain = candidates(bundle, systemLocale);
+            }
+            Map<String, String> base = bundle.get(Locale.ROOT);
+            if (base != null) {
+                chain.add(base);
+            }
+            return chain;
+        }
+
+        private List<Map<String, String>> candidates(Map<Locale, Map<String, String>> bundle, Locale locale) {
+            List<Map<String, String>> candidates = new ArrayList<>();
+            for (Locale candidate : candidateLocales(locale)) {
+                Map<String, String> messages = bundle.get(candidate);
+                if (messages != null) {
+                    candidates.add(messages);
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * 언어_국가_변형 -> 언어_국가 -> 언어
+         */
+        private List<Locale> candidateLocales(Locale locale) {
+            List<Locale> candidateLocales = new ArrayList<>();
+            if (locale == null || Locale.ROOT.equals(locale)) {
+                return candidateLocales;
+            }
+            if (!locale.getVariant().isEmpty()) {
+                candidateLocales.add(new Locale(locale.getLanguage(), locale.getCountry(), locale.getVariant()));
+            }
+            if (!locale.getCountry().isEmpty()) {
+                candidateLocales.add(new Locale(locale.getLanguage(), locale.getCountry()));
+            }
+            candidateLocales.add(new Locale(locale.getLanguage()));
+            return candidateLocales;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package hello.itemservice.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * 설정 파일 변경 감지 (데몬 스레드)
+ * 디렉토리를 감시하다가 조건에 맞는 파일이 생기거나 바뀌면 onChange 를 호출한다.
+ */
+@Slf4j
+public class FileChangeWatcher implements Closeable {
+
+    /**
+     * 에디터가 파일을 다 쓰기 전에 읽지 않도록 잠깐 기다린다.
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    private final WatchService watchService;
+    private final Predicate<String> fileNameFilter;
+    private final Runnable onChange;
+
+    private FileChangeWatcher(WatchService watchService, Predicate<String> fileNameFilter, Runnable onChange) {
+        this.watchService = watchService;
+        this.fileNameFilter = fileNameFilter;
+        this.onChange = onChange;
+    }
+
+    public static FileChangeWatcher start(String name, Collection<Path> directories,
+                                          Predicate<String> fileNameFilter, Runnable onChange) throws IOException {
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        FileChangeWatcher watcher = new FileChangeWatcher(watchService, fileNameFilter, onChange);
+        Thread thread = new Thread(watcher::watch, name);
+        thread.setDaemon(true);
+        thread.start();
+        log.info("파일 변경 감지 시작 name={}, directories={}", name, directories);
+        return watcher;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path && fileNameFilter.test(event.context().toString())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    runOnChange();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            //종료
+        }
+    }
+
+    private void runOnChange() {
+        try {
+            onChange.run();
+        } catch (RuntimeException e) {
+            log.warn("파일 변경 처리 실패", e); //감시는 계속한다.
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.web.abuse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 상품 등록 요청 앞단 필터
+ * 1. 클라이언트별 요청 수 제한 -> 429
+ * 2. 형식 확인 (ItemRequestPreCheck) -> 400
+ * 걸러진 요청은 바인딩, 검증, 메시지 조회, 템플릿 렌더링을 하지 않는다.
+ *
+ * 클라이언트: 접속 주소, trustForwardedFor 이면 X-Forwarded-For 의 첫 번째 주소 (프록시 뒤에서만 사용)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AbuseFilter extends OncePerRequestFilter {
+
+    private static final String ADD_PATTERN = "/validation/*/items/add";
+    private static final String ASYNC_ADD_PATTERN = "/validation/api/*/items/add";
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final int MAX_CLIENT_LENGTH = 64;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ClientRateLimiter rateLimiter;
+    private final AbuseStats abuseStats;
+    private final boolean trustForwardedFor;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !"POST".equals(request.getMethod())
+                || !(pathMatcher.match(ADD_PATTERN, uri) || pathMatcher.match(ASYNC_ADD_PATTERN, uri));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String client = resolveClient(request);
+        if (!rateLimiter.tryAcquire(client)) {
+            abuseStats.limited();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        String reason = ItemRequestPreCheck.check(request);
+        if (reason != null) {
+            abuseStats.malformed(reason);
+            log.debug("형식 오류 요청 거절 client={}, uri={}, reason={}", client, request.getRequestURI(), reason);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        abuseStats.passed();
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveClient(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader(FORWARDED_FOR);
+            if (StringUtils.hasText(forwardedFor)) {
+                int comma = forwardedFor.indexOf(',');
+                String client = (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+                return client.length() > MAX_CLIENT_LENGTH ? client.substring(0, MAX_CLIENT_LENGTH) : client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
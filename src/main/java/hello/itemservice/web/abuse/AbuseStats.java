@@ -0,0 +1,48 @@
+package hello.itemservice.web.abuse;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 앞단 필터 통계
+ */
+@Component
+public class AbuseStats {
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final Map<String, LongAdder> malformed = new ConcurrentHashMap<>();
+
+    void passed() {
+        passed.increment();
+    }
+
+    void limited() {
+        limited.increment();
+    }
+
+    /**
+     * @param reason 거절 사유 (ItemRequestPreCheck 의 고정된 값이라 종류가 몇 개 안 된다)
+     */
+    void malformed(String reason) {
+        malformed.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    public long getLimited() {
+        return limited.sum();
+    }
+
+    public Map<String, Long> getMalformed() {
+        Map<String, Long> result = new TreeMap<>();
+        malformed.forEach((reason, count) -> result.put(reason, count.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.web.abuse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 앞단 필터 통계
+ * processCpuNanos: 부하 테스트 전후 값의 차이로 공격 트래픽이 쓴 CPU 시간을 비교한다. (LoadGenerator)
+ * enabled, trustForwardedFor: 부하 테스트 전에 모든 요청이 한 주소로 묶여 제한되지 않는지 확인한다. (LoadGenerator)
+ */
+@RestController
+public class AbuseStatsController {
+
+    private final ClientRateLimiter rateLimiter;
+    private final AbuseStats abuseStats;
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+
+    public AbuseStatsController(ClientRateLimiter rateLimiter, AbuseStats abuseStats,
+                                @Value("${abuse.enabled:true}") boolean enabled,
+                                @Value("${abuse.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.abuseStats = abuseStats;
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @GetMapping("/validation/api/abuse/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("trustForwardedFor", trustForwardedFor);
+        stats.put("passed", abuseStats.getPassed());
+        stats.put("limited", abuseStats.getLimited());
+        stats.put("malformed", abuseStats.getMalformed());
+        stats.put("clients", rateLimiter.size());
+        stats.put("evictions", rateLimiter.getEvictions());
+        stats.put("overflows", rateLimiter.getOverflows());
+        stats.put("processCpuNanos", processCpuNanos());
+        return stats;
+    }
+
+    private long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
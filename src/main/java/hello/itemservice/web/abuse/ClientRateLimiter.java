@@ -0,0 +1,95 @@
+package hello.itemservice.web.abuse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트별 요청 수 제한 (토큰 버킷)
+ * 클라이언트 수가 최대치에 닿으면 가득 찬(한동안 요청이 없던) 버킷을 지운다.
+ * 그래도 자리가 없으면 새 클라이언트는 공용 버킷 하나를 같이 쓴다. (메모리 상한 유지)
+ */
+@Slf4j
+@Component
+public class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int maxClients;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public ClientRateLimiter(@Value("${abuse.rate-per-second:20}") int ratePerSecond,
+                             @Value("${abuse.burst:40}") int burst,
+                             @Value("${abuse.max-clients:10000}") int maxClients) {
+        if (ratePerSecond <= 0 || burst <= 0 || maxClients <= 0) {
+            throw new IllegalArgumentException("abuse.rate-per-second, abuse.burst, abuse.max-clients 는 0보다 커야 합니다.");
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.capacityNanos = intervalNanos * burst;
+        this.maxClients = maxClients;
+        this.overflowBucket = new TokenBucket(System.nanoTime());
+    }
+
+    public boolean tryAcquire(String client) {
+        return tryAcquire(client, System.nanoTime());
+    }
+
+    boolean tryAcquire(String client, long now) {
+        return bucket(client, now).tryAcquire(now, intervalNanos, capacityNanos);
+    }
+
+    private TokenBucket bucket(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            sweep(now);
+            if (buckets.size() >= maxClients) {
+                overflows.increment();
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(now));
+    }
+
+    /**
+     * 가득 찬 버킷을 지운다. 한 스레드만 지우고 나머지는 기다리지 않는다.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = buckets.size();
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            evictions.add(before - buckets.size());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getOverflows() {
+        return overflows.sum();
+    }
+}
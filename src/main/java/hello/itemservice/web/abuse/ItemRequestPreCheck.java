@@ -0,0 +1,90 @@
+package hello.itemservice.web.abuse;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 등록 요청의 형식만 싸게 확인한다. (바인딩, 검증 전)
+ * 정상적인 화면이나 클라이언트는 보낼 수 없는 요청만 거른다.
+ * 빈 값, 범위 밖의 값, 숫자가 아닌 값처럼 사람이 입력할 수 있는 오류는 통과시켜서 기존처럼 검증 메시지를 보여준다.
+ */
+class ItemRequestPreCheck {
+
+    static final String API_PREFIX = "/validation/api/";
+
+    private static final Set<String> REQUIRED_PARAMETERS = Set.of("itemName", "price", "quantity");
+    private static final Set<String> ALLOWED_PARAMETERS = Set.of("id", "itemName", "price", "quantity", "idempotencyKey");
+    private static final int MAX_VALUE_LENGTH = 200;
+    private static final int MAX_JSON_LENGTH = 16 * 1024;
+
+    private ItemRequestPreCheck() {
+    }
+
+    /**
+     * @return 거절 사유, 통과하면 null
+     */
+    static String check(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith(API_PREFIX)) {
+            return checkJson(request);
+        }
+        return checkForm(request);
+    }
+
+    private static String checkJson(HttpServletRequest request) {
+        if (!isCompatible(request.getContentType(), MediaType.APPLICATION_JSON)) {
+            return "content-type";
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength == 0 || contentLength > MAX_JSON_LENGTH) { //-1(chunked)은 서블릿에서 크기를 제한한다.
+            return "content-length";
+        }
+        return null;
+    }
+
+    private static String checkForm(HttpServletRequest request) {
+        if (!isCompatible(request.getContentType(), MediaType.APPLICATION_FORM_URLENCODED)) {
+            return "content-type";
+        }
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!parameters.keySet().containsAll(REQUIRED_PARAMETERS)) {
+            return "missing-parameter";
+        }
+        for (Map.Entry<String, String[]> entry : parameters.entrySet()) {
+            if (!ALLOWED_PARAMETERS.contains(entry.getKey())) {
+                return "unknown-parameter";
+            }
+            String[] values = entry.getValue();
+            if (values.length != 1) {
+                return "duplicate-parameter";
+            }
+            if (values[0].length() > MAX_VALUE_LENGTH || hasControlCharacter(values[0])) {
+                return "malformed-value";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCompatible(String contentType, MediaType expected) {
+        if (!StringUtils.hasText(contentType)) {
+            return false;
+        }
+        try {
+            return expected.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasControlCharacter(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isISOControl(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
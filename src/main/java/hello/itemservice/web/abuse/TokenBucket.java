@@ -0,0 +1,43 @@
+package hello.itemservice.web.abuse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA: 다음 요청이 허용되는 이론상 시각 하나만 CAS 로 갱신)
+ * 토큰 수와 마지막 충전 시각을 따로 두지 않아서 long 하나로 끝난다.
+ */
+public class TokenBucket {
+
+    /**
+     * 버킷이 가득 차는 시각(nanoTime). 이 시각이 지났으면 버킷이 가득 찬 상태
+     */
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @param intervalNanos 토큰 하나가 충전되는 시간
+     * @param capacityNanos 버킷 크기(버스트) * intervalNanos
+     */
+    public boolean tryAcquire(long now, long intervalNanos, long capacityNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 가득 찬 버킷은 지워도 새로 만든 것과 같다.
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
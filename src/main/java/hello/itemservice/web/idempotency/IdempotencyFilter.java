@@ -0,0 +1,152 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상품 등록 요청 중복 제거
+ * 같은 멱등성 키로 다시 들어온 등록 요청은 검증, 저장 없이 처음 응답(리다이렉트 위치, API 응답)을 그대로 돌려준다.
+ *
+ * 키: 헤더 Idempotency-Key 또는 폼 파라미터 idempotencyKey
+ * 키와 함께 요청 내용의 지문(폼은 파라미터, 그 밖에는 바디의 해시)을 저장한다. 같은 키로 다른 내용을 보내면 422 로 거절한다.
+ * 폼은 성공(리다이렉트)한 경우만 저장한다. 검증 오류로 폼을 다시 보여준 경우는 같은 키로 다시 제출할 수 있어야 하기 때문
+ * API 는 검증 오류도 200 으로 응답하므로, 컨트롤러가 rejectReplay 로 표시한 응답은 저장하지 않는다.
+ *
+ * 비동기 API(/validation/api/async/items/add)는 대상이 아니다. (경로 패턴 밖)
+ * 응답을 필터가 끝난 뒤(AsyncContext.complete)에 쓰기 때문에 저장할 수 없고, 검증만 하고 저장하지 않아서 다시 실행해도 안전하다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_NAME = "Idempotency-Key";
+    public static final String PARAMETER_NAME = "idempotencyKey";
+
+    private static final String ADD_PATTERN = "/validation/*/items/add";
+    private static final String API_PREFIX = "/validation/api/";
+    private static final String NOT_REPLAYABLE_ATTRIBUTE = IdempotencyFilter.class.getName() + ".NOT_REPLAYABLE";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdempotencyKeyStore keyStore;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !pathMatcher.match(ADD_PATTERN, request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = resolveKey(request);
+        if (idempotencyKey == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        //폼을 다시 보여줄 때 같은 키를 유지하도록 템플릿에 넘긴다.
+        request.setAttribute(PARAMETER_NAME, idempotencyKey);
+
+        String fingerprint;
+        if (isForm(request)) {
+            fingerprint = formFingerprint(request);
+        } else {
+            CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request);
+            fingerprint = DigestUtils.md5DigestAsHex(cachedBodyRequest.getBody());
+            request = cachedBodyRequest;
+        }
+
+        String storeKey = request.getRequestURI() + " " + idempotencyKey;
+        IdempotencyKeyStore.Result result = keyStore.begin(storeKey, fingerprint);
+        if (result.isMismatch()) {
+            log.info("다른 요청 내용으로 사용한 멱등성 키 key={}", idempotencyKey);
+            response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+            return;
+        }
+        if (result.isInProgress()) {
+            log.info("처리 중인 멱등성 키 key={}", idempotencyKey);
+            response.setStatus(HttpStatus.CONFLICT.value());
+            return;
+        }
+        if (!result.isAcquired()) {
+            log.info("중복 요청 - 저장된 응답 반환 key={}", idempotencyKey);
+            result.getResponse().writeTo(response);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (isReplayable(request, responseWrapper)) {
+                keyStore.complete(storeKey, StoredResponse.of(responseWrapper));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                keyStore.release(storeKey);
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * 이 요청의 응답은 저장하지 않는다. (200 으로 응답하는 검증 오류 - 같은 키로 고쳐서 다시 보낼 수 있다)
+     */
+    public static void rejectReplay(HttpServletRequest request) {
+        request.setAttribute(NOT_REPLAYABLE_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    private boolean isReplayable(HttpServletRequest request, HttpServletResponse response) {
+        HttpStatus status = HttpStatus.resolve(response.getStatus());
+        if (status == null || request.getAttribute(NOT_REPLAYABLE_ATTRIBUTE) != null) {
+            return false;
+        }
+        if (status.is3xxRedirection()) {
+            return true;
+        }
+        return status.is2xxSuccessful() && request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    private boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    /**
+     * 파라미터 이름 순서로 이어 붙인 해시 (키 파라미터 제외)
+     */
+    private String formFingerprint(HttpServletRequest request) {
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.remove(PARAMETER_NAME);
+        StringBuilder content = new StringBuilder();
+        parameters.forEach((name, values) -> {
+            for (String value : values) {
+                content.append(name).append('=').append(value).append('&');
+            }
+        });
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        String key = request.getHeader(HEADER_NAME);
+        if (!StringUtils.hasText(key)) {
+            key = request.getParameter(PARAMETER_NAME);
+        }
+        return StringUtils.hasText(key) ? key : null;
+    }
+}
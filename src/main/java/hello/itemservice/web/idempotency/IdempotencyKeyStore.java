@@ -0,0 +1,162 @@
+package hello.itemservice.web.idempotency;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 멱등성 키 저장소 (메모리)
+ * 최대 개수와 만료 시간이 있다. 가장 오래된 키부터 밀려난다.
+ * 키마다 요청 내용의 지문(fingerprint)을 같이 저장해서, 같은 키로 다른 내용을 보내면 거절한다.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL_MILLIS = 10 * 60 * 1000;
+
+    private final Map<String, Entry> store = new LinkedHashMap<>(); //삽입 순서 = 만료 순서
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 키 사용 시작
+     * @param fingerprint 요청 내용의 지문 (같은 키는 같은 내용이어야 한다)
+     * @return 처음 사용하는 키면 Result.acquired(), 다른 내용으로 사용한 키면 Result.mismatch(),
+     * 이미 완료된 키면 저장된 응답, 처리 중인 키면 Result.inProgress()
+     */
+    public synchronized Result begin(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        removeExpired(now);
+
+        Entry entry = store.get(key);
+        if (entry == null) {
+            misses.increment();
+            store.put(key, new Entry(fingerprint, null, now + TTL_MILLIS));
+            removeOverflow();
+            return Result.ACQUIRED;
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            mismatches.increment();
+            return Result.MISMATCH;
+        }
+        if (entry.response == null) {
+            conflicts.increment();
+            return Result.IN_PROGRESS;
+        }
+        hits.increment();
+        return new Result(entry.response);
+    }
+
+    /**
+     * 처리 결과 저장 (같은 키로 다시 요청하면 이 응답을 그대로 돌려준다)
+     */
+    public synchronized void complete(String key, StoredResponse response) {
+        Entry entry = store.remove(key);
+        if (entry == null) {
+            return; //처리 중에 밀려났다.
+        }
+        store.put(key, new Entry(entry.fingerprint, response, System.currentTimeMillis() + TTL_MILLIS));
+        removeOverflow();
+    }
+
+    /**
+     * 저장하지 않을 결과 (예: 검증 실패로 폼을 다시 보여준 경우) - 같은 키로 다시 시도할 수 있다.
+     */
+    public synchronized void release(String key) {
+        store.remove(key);
+    }
+
+    public synchronized int size() {
+        return store.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public long getMismatches() {
+        return mismatches.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized void clear() {
+        store.clear();
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = store.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt <= now) {
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private void removeOverflow() {
+        Iterator<Entry> iterator = store.values().iterator();
+        while (store.size() > MAX_SIZE && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final StoredResponse response; //null 이면 처리 중
+        private final long expiresAt;
+
+        Entry(String fingerprint, StoredResponse response, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static class Result {
+
+        static final Result ACQUIRED = new Result(null);
+        static final Result IN_PROGRESS = new Result(null);
+        static final Result MISMATCH = new Result(null);
+
+        private final StoredResponse response;
+
+        private Result(StoredResponse response) {
+            this.response = response;
+        }
+
+        public boolean isAcquired() {
+            return this == ACQUIRED;
+        }
+
+        public boolean isInProgress() {
+            return this == IN_PROGRESS;
+        }
+
+        public boolean isMismatch() {
+            return this == MISMATCH;
+        }
+
+        public StoredResponse getResponse() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class IdempotencyStatsController {
+
+    private final IdempotencyKeyStore keyStore;
+
+    @GetMapping("/validation/api/idempotency/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", keyStore.size());
+        stats.put("hits", keyStore.getHits());
+        stats.put("misses", keyStore.getMisses());
+        stats.put("conflicts", keyStore.getConflicts());
+        stats.put("mismatches", keyStore.getMismatches());
+        stats.put("evictions", keyStore.getEvictions());
+        return stats;
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 멱등성 키로 다시 돌려줄 응답 (상태 코드, 리다이렉트 위치, 바디)
+ */
+@Getter
+public class StoredResponse {
+
+    private final int status;
+    private final String location;
+    private final String contentType;
+    private final byte[] body;
+
+    public StoredResponse(int status, String location, String contentType, byte[] body) {
+        this.status = status;
+        this.location = location;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public static StoredResponse of(ContentCachingResponseWrapper response) {
+        return new StoredResponse(response.getStatus(), response.getHeader(HttpHeaders.LOCATION),
+                response.getContentType(), response.getContentAsByteArray());
+    }
+
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (location != null) {
+            response.setHeader(HttpHeaders.LOCATION, location);
+        }
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        if (body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.domain.item.InventoryStats;
+import hello.itemservice.domain.item.InventoryStats.InventorySnapshot;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 재고 집계 조회 (전체 상품을 훑지 않는다)
+ * 저장/수정과 섞이지 않도록 저장소 읽기 락 안에서 읽는다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class InventoryStatsController {
+
+    private final ItemRepository itemRepository;
+    private final InventoryStats inventoryStats;
+
+    @GetMapping("/validation/api/items/stats")
+    public InventorySnapshot stats() {
+        return itemRepository.withReadLock(inventoryStats::snapshot);
+    }
+}
@@ -0,0 +1,48 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.domain.item.ItemChangeLog;
+import hello.itemservice.domain.item.ItemChangeLog.ChangeBatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * 상품 변경 로그 조회 (long-poll)
+ * 예) GET /validation/api/items/changes?after=0
+ * 응답의 lastSequence 를 다음 요청의 after 로 넘기면 이어서 받을 수 있다.
+ * 새 이벤트가 없으면 이벤트가 생기거나 timeout 이 될 때까지 응답을 보류한다. (서블릿 스레드는 반환)
+ */
+@RestController
+@RequestMapping("/validation/api/items/changes")
+@RequiredArgsConstructor
+public class ItemChangeApiController {
+
+    private static final long MAX_TIMEOUT_MILLIS = 60_000;
+    private static final int MAX_EVENTS = 1000;
+
+    private final ItemChangeLog itemChangeLog;
+
+    @GetMapping
+    public DeferredResult<ChangeBatch> changes(@RequestParam(defaultValue = "0") long after,
+                                               @RequestParam(defaultValue = "100") int max,
+                                               @RequestParam(defaultValue = "30000") long timeout) {
+        int maxEvents = Math.max(1, Math.min(max, MAX_EVENTS));
+        long timeoutMillis = Math.max(0, Math.min(timeout, MAX_TIMEOUT_MILLIS));
+
+        DeferredResult<ChangeBatch> result = new DeferredResult<>(timeoutMillis);
+        ChangeBatch batch = itemChangeLog.readAfter(after, maxEvents);
+        if (!batch.getEvents().isEmpty() || batch.isTruncated() || timeoutMillis == 0) {
+            result.setResult(batch);
+            return result;
+        }
+
+        Runnable waiter = () -> result.setResult(itemChangeLog.readAfter(after, maxEvents));
+        result.onTimeout(() -> result.setResult(itemChangeLog.readAfter(after, maxEvents)));
+        result.onCompletion(() -> itemChangeLog.removeWaiter(waiter));
+        itemChangeLog.addWaiter(after, waiter); //그 사이에 공개됐으면 바로 호출된다.
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 전체 내보내기 (CSV, NDJSON)
+ * 저장소를 ID 순서로 하나씩 읽어서 바로 응답에 쓴다. 목록을 만들거나 템플릿을 렌더링하지 않아서 상품 수와 관계없이 메모리가 일정하다.
+ *
+ * 예) GET /validation/api/items/export?format=ndjson&afterId=1000
+ * afterId: 이어받기. 마지막으로 받은 상품 ID 를 넘기면 그 다음 상품부터 보낸다. (CSV 헤더는 처음에만)
+ * Accept-Encoding: gzip 이면 gzip 으로 압축해서 보낸다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ItemExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,itemName,price,quantity\n";
+
+    private final ItemRepository itemRepository;
+
+    @GetMapping("/validation/api/items/export")
+    public void export(@RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(defaultValue = "0") long afterId,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equals(format);
+        if (!csv && !"ndjson".equals(format)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        OutputStream out = response.getOutputStream();
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        //버퍼가 찰 때마다 응답으로 내보낸다. (chunked)
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (csv && afterId <= 0) {
+                writer.write(CSV_HEADER);
+            }
+            Iterator<ItemSnapshot> items = itemRepository.iterateAfter(afterId);
+            while (items.hasNext()) {
+                if (csv) {
+                    writeCsv(writer, items.next());
+                } else {
+                    writeNdjson(writer, items.next());
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Writer writer, ItemSnapshot item) throws IOException {
+        writer.write(String.valueOf(item.getId()));
+        writer.write(',');
+        writeCsvText(writer, item.getItemName());
+        writer.write(',');
+        writeNumber(writer, item.getPrice(), "");
+        writer.write(',');
+        writeNumber(writer, item.getQuantity(), "");
+        writer.write('\n');
+    }
+
+    private void writeNdjson(Writer writer, ItemSnapshot item) throws IOException {
+        writer.write("{\"id\":");
+        writer.write(String.valueOf(item.getId()));
+        writer.write(",\"itemName\":");
+        writeJsonText(writer, item.getItemName());
+        writer.write(",\"price\":");
+        writeNumber(writer, item.getPrice(), "null");
+        writer.write(",\"quantity\":");
+        writeNumber(writer, item.getQuantity(), "null");
+        writer.write("}\n");
+    }
+
+    private void writeNumber(Writer writer, Integer value, String nullValue) throws IOException {
+        writer.write(value == null ? nullValue : value.toString());
+    }
+
+    /**
+     * 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싼다. ("" 는 " 하나)
+     */
+    private void writeCsvText(Writer writer, String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJsonText(Writer writer, String text) throws IOException {
+        if (text == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
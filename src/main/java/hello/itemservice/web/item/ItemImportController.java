@@ -0,0 +1,73 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.importer.ImportResult;
+import hello.itemservice.importer.ItemImporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 상품 대량 가져오기 API
+ * 설정한 디렉토리(item-import.directory) 안의 파일만 가져올 수 있다. 설정하지 않으면 사용할 수 없다. (404)
+ * 예) POST /validation/api/items/import?file=catalog.csv
+ */
+@Slf4j
+@RestController
+public class ItemImportController {
+
+    private final ItemImporter itemImporter;
+    private final String directory;
+
+    public ItemImportController(ItemImporter itemImporter, @Value("${item-import.directory:}") String directory) {
+        this.itemImporter = itemImporter;
+        this.directory = directory;
+    }
+
+    @PostMapping("/validation/api/items/import")
+    public ResponseEntity<ImportResult> importItems(@RequestParam String file) throws IOException {
+        if (!StringUtils.hasText(directory)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Path path = resolve(file);
+        if (path == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(itemImporter.importFile(path));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * 디렉토리 밖을 가리키는 경로(../, 절대 경로, 심볼릭 링크)는 거절한다.
+     */
+    private Path resolve(String file) throws IOException {
+        Path base = Paths.get(directory).toRealPath();
+        Path path;
+        try {
+            path = base.resolve(file).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (!path.startsWith(base) || !Files.isRegularFile(path)) {
+            return null;
+        }
+        Path realPath = path.toRealPath();
+        return realPath.startsWith(base) ? realPath : null;
+    }
+}
@@ -0,0 +1,99 @@
+package hello.itemservice.web.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시 처리 수 제한 (AIMD: 느리면 곱으로 줄이고, 빠르면 1씩 늘린다)
+ * - 응답 시간이 기준보다 길면 limit * BACKOFF_RATIO (한 번 줄인 뒤 기준 시간 동안은 다시 줄이지 않는다)
+ * - 기준 안에 끝났고 limit 의 절반 이상을 쓰고 있었으면 limit + 1
+ * 처리 중인 요청이 limit 이상이면 기다리지 않고 바로 거절한다.
+ */
+public class AimdLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseAt;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit || latencyThresholdNanos <= 0) {
+            throw new IllegalArgumentException("0 < min <= initial <= max, latencyThreshold > 0 이어야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = new AtomicInteger(initialLimit);
+        this.lastDecreaseAt = new AtomicLong(System.nanoTime() - latencyThresholdNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 응답 시간 없이 반납 (비동기 요청처럼 처리 시간을 알 수 없을 때)
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long latencyNanos, long now) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease(now);
+        } else if (current * 2 >= limit.get()) {
+            limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+        }
+    }
+
+    /**
+     * 느린 응답이 한꺼번에 몰려도 기준 시간에 한 번만 줄인다.
+     */
+    public void decrease(long now) {
+        long last = lastDecreaseAt.get();
+        if (now - last < latencyThresholdNanos || !lastDecreaseAt.compareAndSet(last, now)) {
+            return;
+        }
+        limit.updateAndGet(value -> Math.max(minLimit, (int) (value * BACKOFF_RATIO)));
+    }
+
+    public long getLatencyThresholdNanos() {
+        return latencyThresholdNanos;
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package hello.itemservice.web.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 종류별 현재 동시 처리 제한과 거절 수
+ */
+@RestController
+@RequiredArgsConstructor
+public class ConcurrencyLimitController {
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    @GetMapping("/validation/api/limits")
+    public Map<EndpointClass, Map<String, Object>> limits() {
+        Map<EndpointClass, Map<String, Object>> result = new LinkedHashMap<>();
+        concurrencyLimits.getLimiters().forEach((endpointClass, limiter) -> {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("limit", limiter.getLimit());
+            view.put("inFlight", limiter.getInFlight());
+            view.put("accepted", limiter.getAccepted());
+            view.put("rejected", limiter.getRejected());
+            if (endpointClass.isAdaptive()) {
+                view.put("latencyThresholdMs", TimeUnit.NANOSECONDS.toMillis(limiter.getLatencyThresholdNanos()));
+            }
+            result.put(endpointClass, view);
+        });
+        return result;
+    }
+}
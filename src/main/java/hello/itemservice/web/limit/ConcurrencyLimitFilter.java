@@ -0,0 +1,55 @@
+package hello.itemservice.web.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 과부하 시 요청 덜어내기 (load shedding)
+ * 요청 종류별 동시 처리 수를 넘으면 바인딩, 검증, 렌더링 없이 바로 503 을 응답한다.
+ * 처리 시간을 재서 제한을 조정한다. (ConcurrencyLimits)
+ * 비동기로 넘어간 요청은 처리 시간을 알 수 없어서 제한만 반납한다.
+ * 모니터링 API 는 제한하지 않는다. (과부하 중에도 상태를 볼 수 있어야 한다)
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return EndpointClass.isMonitoring(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AimdLimiter limiter = concurrencyLimits.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean measured = false;
+        try {
+            filterChain.doFilter(request, response);
+            measured = !request.isAsyncStarted();
+        } finally {
+            if (measured) {
+                long now = System.nanoTime();
+                concurrencyLimits.release(endpointClass, now - start, now);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.web.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 종류별 동시 처리 수 제한
+ * 조회(READ)가 기준 시간(SLO)보다 느려지면 폼 제출, API 의 제한을 먼저 줄인다. (조회를 지키기 위해 나머지를 덜어낸다)
+ * 대량 처리(BULK)는 고정 제한이다. 응답 시간을 반영하지 않고, 조회가 느려져도 줄이지 않는다.
+ *
+ * concurrency-limit.initial / min / max: 시작, 최소, 최대 동시 처리 수 (종류마다 따로 조정된다)
+ * concurrency-limit.read-latency-ms / form-latency-ms / api-latency-ms: 느리다고 판단하는 응답 시간
+ * concurrency-limit.bulk: 대량 내보내기/가져오기 동시 처리 수
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final Map<EndpointClass, AimdLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimits(@Value("${concurrency-limit.initial:50}") int initialLimit,
+                             @Value("${concurrency-limit.min:2}") int minLimit,
+                             @Value("${concurrency-limit.max:400}") int maxLimit,
+                             @Value("${concurrency-limit.read-latency-ms:100}") long readLatencyMillis,
+                             @Value("${concurrency-limit.form-latency-ms:300}") long formLatencyMillis,
+                             @Value("${concurrency-limit.api-latency-ms:300}") long apiLatencyMillis,
+                             @Value("${concurrency-limit.bulk:4}") int bulkLimit) {
+        limiters.put(EndpointClass.READ, new AimdLimiter(initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(readLatencyMillis)));
+        limiters.put(EndpointClass.FORM, new AimdLimiter(initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(formLatencyMillis)));
+        limiters.put(EndpointClass.API, new AimdLimiter(initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(apiLatencyMillis)));
+        limiters.put(EndpointClass.BULK, new AimdLimiter(bulkLimit, bulkLimit, bulkLimit, TimeUnit.MILLISECONDS.toNanos(apiLatencyMillis)));
+    }
+
+    public AimdLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    /**
+     * 처리 시간 반영. 조회가 SLO 를 넘으면 우선순위가 낮은 종류의 제한도 줄인다.
+     * 고정 제한(BULK)은 반납만 한다.
+     */
+    public void release(EndpointClass endpointClass, long latencyNanos, long now) {
+        AimdLimiter limiter = limiters.get(endpointClass);
+        if (!endpointClass.isAdaptive()) {
+            limiter.release();
+            return;
+        }
+        limiter.release(latencyNanos, now);
+        if (endpointClass == EndpointClass.READ && latencyNanos > limiter.getLatencyThresholdNanos()) {
+            limiters.get(EndpointClass.FORM).decrease(now);
+            limiters.get(EndpointClass.API).decrease(now);
+        }
+    }
+
+    public Map<EndpointClass, AimdLimiter> getLimiters() {
+        return limiters;
+    }
+}
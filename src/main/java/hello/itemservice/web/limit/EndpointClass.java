@@ -0,0 +1,49 @@
+package hello.itemservice.web.limit;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 요청 종류 (동시 처리 수를 따로 제한한다)
+ * READ: 화면 조회 (우선순위가 가장 높다), FORM: 폼 제출 (검증 실패 시 폼 다시 렌더링), API: /validation/api/**
+ * BULK: 대량 내보내기/가져오기. 원래 오래 걸리므로 응답 시간으로 제한을 조정하지 않는다. (고정 제한)
+ * 모니터링 API(제한, 통계 조회)는 과부하 중에도 볼 수 있도록 제한하지 않는다. (isMonitoring)
+ */
+public enum EndpointClass {
+
+    READ(true), FORM(true), API(true), BULK(false);
+
+    private static final String API_PREFIX = "/validation/api/";
+    private static final String EXPORT_URI = API_PREFIX + "items/export";
+    private static final String IMPORT_URI = API_PREFIX + "items/import";
+    private static final String LIMITS_URI = API_PREFIX + "limits";
+    private static final String CONSTRAINT_PLANS_URI = API_PREFIX + "constraint-plans";
+    private static final String STATS_SUFFIX = "/stats";
+
+    /**
+     * 응답 시간으로 제한을 조정하는지 (AIMD)
+     */
+    private final boolean adaptive;
+
+    EndpointClass(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith(API_PREFIX)) {
+            return EXPORT_URI.equals(uri) || IMPORT_URI.equals(uri) ? BULK : API;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : FORM;
+    }
+
+    public static boolean isMonitoring(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return LIMITS_URI.equals(uri) || CONSTRAINT_PLANS_URI.equals(uri)
+                || (uri.startsWith(API_PREFIX) && uri.endsWith(STATS_SUFFIX));
+    }
+}
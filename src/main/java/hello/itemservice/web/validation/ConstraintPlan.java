@@ -0,0 +1,74 @@
+package hello.itemservice.web.validation;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 제약조건 실행 계획 (클래스, 검증 그룹) 하나당 하나
+ * 어떤 필드에 어떤 제약조건을 적용할지 미리 계산해 둔 불변 객체다.
+ *
+ * fullValidation: 클래스 레벨 제약조건, @Valid 중첩 검증, 그룹 시퀀스처럼
+ * 필드 단위로 나눌 수 없는 경우 - 이때는 전체 검증(validate)을 사용한다.
+ * directProperties: 제약조건이 모두 직접 평가할 수 있는 것(DirectConstraintEvaluator)인 필드
+ */
+public final class ConstraintPlan {
+
+    private final Class<?> beanClass;
+    private final List<Class<?>> groups;
+    private final Map<String, List<ConstraintDescriptor<?>>> propertyConstraints;
+    private final Set<String> directProperties;
+    private final boolean fullValidation;
+
+    public ConstraintPlan(Class<?> beanClass, List<Class<?>> groups,
+                          Map<String, List<ConstraintDescriptor<?>>> propertyConstraints,
+                          Set<String> directProperties, boolean fullValidation) {
+        this.beanClass = beanClass;
+        this.groups = List.copyOf(groups);
+        this.propertyConstraints = Map.copyOf(propertyConstraints);
+        this.directProperties = Set.copyOf(directProperties);
+        this.fullValidation = fullValidation;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public List<Class<?>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * 검증할 제약조건이 있는 필드
+     */
+    public Set<String> getProperties() {
+        return propertyConstraints.keySet();
+    }
+
+    public List<ConstraintDescriptor<?>> getConstraints(String property) {
+        return propertyConstraints.getOrDefault(property, List.of());
+    }
+
+    public Map<String, List<ConstraintDescriptor<?>>> getPropertyConstraints() {
+        return propertyConstraints;
+    }
+
+    /**
+     * 직접 평가할 수 있는 필드인지 (아니면 Bean Validation 으로 검증한다)
+     */
+    public boolean isDirect(String property) {
+        return directProperties.contains(property);
+    }
+
+    public boolean isFullValidation() {
+        return fullValidation;
+    }
+
+    /**
+     * 검증할 것이 하나도 없는 계획 (예: 제약조건이 없는 그룹)
+     */
+    public boolean isEmpty() {
+        return !fullValidation && propertyConstraints.isEmpty();
+    }
+}
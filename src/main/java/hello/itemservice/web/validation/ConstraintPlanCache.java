@@ -0,0 +1,99 @@
+package hello.itemservice.web.validation;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.group.GroupSequenceProvider;
+import org.springframework.stereotype.Component;
+
+import javax.validation.GroupSequence;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (클래스, 검증 그룹) 별 제약조건 실행 계획 캐시
+ * 처음 요청될 때 한 번만 만들고 이후에는 같은 계획을 재사용한다.
+ */
+@Component
+public class ConstraintPlanCache {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    private final Validator validator;
+    private final Map<PlanKey, ConstraintPlan> plans = new ConcurrentHashMap<>();
+
+    public ConstraintPlanCache(Validator validator) {
+        this.validator = validator;
+    }
+
+    public ConstraintPlan getPlan(Class<?> beanClass, Class<?>... groups) {
+        Class<?>[] planGroups = groups.length == 0 ? DEFAULT_GROUPS : groups;
+        return plans.computeIfAbsent(new PlanKey(beanClass, List.of(planGroups)), this::createPlan);
+    }
+
+    /**
+     * 지금까지 만들어진 모든 계획 (조회용)
+     */
+    public Collection<ConstraintPlan> getPlans() {
+        return List.copyOf(plans.values());
+    }
+
+    private ConstraintPlan createPlan(PlanKey key) {
+        Class<?>[] groups = key.groups.toArray(new Class<?>[0]);
+        BeanDescriptor beanDescriptor = validator.getConstraintsForClass(key.beanClass);
+
+        boolean fullValidation = beanDescriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()
+                || isGroupSequence(key.beanClass, key.groups);
+
+        Map<String, List<ConstraintDescriptor<?>>> propertyConstraints = new LinkedHashMap<>();
+        Set<String> directProperties = new HashSet<>();
+        for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                fullValidation = true;
+            }
+            Set<ConstraintDescriptor<?>> constraints = property.findConstraints()
+                    .unorderedAndMatchingGroups(groups)
+                    .getConstraintDescriptors();
+            if (!constraints.isEmpty()) {
+                propertyConstraints.put(property.getPropertyName(), new ArrayList<>(constraints));
+                if (DirectConstraintEvaluator.supports(constraints)) {
+                    directProperties.add(property.getPropertyName());
+                }
+            }
+        }
+        return new ConstraintPlan(key.beanClass, key.groups, propertyConstraints, directProperties, fullValidation);
+    }
+
+    /**
+     * 그룹 시퀀스는 순서대로 실패하면 멈추는 의미가 있어서 필드 단위로 나눌 수 없다.
+     */
+    private boolean isGroupSequence(Class<?> beanClass, List<Class<?>> groups) {
+        for (Class<?> group : groups) {
+            if (group.isAnnotationPresent(GroupSequence.class)) {
+                return true;
+            }
+            if (group == Default.class && (beanClass.isAnnotationPresent(GroupSequence.class)
+                    || beanClass.isAnnotationPresent(GroupSequenceProvider.class))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class PlanKey {
+        private final Class<?> beanClass;
+        private final List<Class<?>> groups;
+    }
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.web.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 제약조건 실행 계획 조회
+ */
+@RestController
+@RequiredArgsConstructor
+public class ConstraintPlanController {
+
+    private final ConstraintPlanCache constraintPlanCache;
+
+    @GetMapping("/validation/api/constraint-plans")
+    public List<Map<String, Object>> plans() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (ConstraintPlan plan : constraintPlanCache.getPlans()) {
+            Map<String, Object> planView = new LinkedHashMap<>();
+            planView.put("beanClass", plan.getBeanClass().getName());
+            planView.put("groups", plan.getGroups().stream().map(Class::getSimpleName).collect(Collectors.toList()));
+            planView.put("fullValidation", plan.isFullValidation());
+
+            Map<String, List<String>> properties = new LinkedHashMap<>();
+            plan.getPropertyConstraints().forEach((property, constraints) ->
+                    properties.put(property, constraints.stream().map(this::describe).collect(Collectors.toList())));
+            planView.put("properties", properties);
+            result.add(planView);
+        }
+        return result;
+    }
+
+    /**
+     * 예) Range(max=1000000, min=1000)
+     */
+    private String describe(ConstraintDescriptor<?> descriptor) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        descriptor.getAttributes().forEach((name, value) -> {
+            if (!"message".equals(name) && !"groups".equals(name) && !"payload".equals(name)) {
+                attributes.put(name, value);
+            }
+        });
+        String arguments = attributes.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        return descriptor.getAnnotation().annotationType().getSimpleName() + "(" + arguments + ")";
+    }
+}
@@ -0,0 +1,197 @@
+package hello.itemservice.web.validation;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 자주 쓰는 제약조건(@NotNull, @NotBlank, @Range, @Min, @Max)을 직접 평가해서 BindingResult 에 바로 FieldError 를 담는다.
+ * ConstraintViolation 을 만들고 다시 FieldError 로 변환하는 과정을 생략한다.
+ *
+ * 오류 코드, 메시지 인자 순서, 기본 메시지는 SpringValidatorAdapter 와 같다.
+ * 예) Range 인자: {0}=필드명(resolvable), {1}=max, {2}=min (애노테이션 속성 이름순)
+ * 메시지 인자는 (objectName, 필드, 제약조건) 별로 한 번만 만들어서 재사용한다.
+ *
+ * 규칙 파일에서 범위를 읽는 제약조건(@ItemPrice, @ItemQuantity)은 애노테이션에 값이 없어서 직접 평가하지 않는다.
+ */
+class DirectConstraintEvaluator {
+
+    private static final Set<Class<? extends Annotation>> SUPPORTED =
+            Set.of(NotNull.class, NotBlank.class, Range.class, Min.class, Max.class);
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+
+    private final Validator validator;
+    private final Map<ArgumentsKey, Object[]> argumentsCache = new ConcurrentHashMap<>();
+    private final Map<MessageKey, String> defaultMessageCache = new ConcurrentHashMap<>();
+
+    DirectConstraintEvaluator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * 모두 직접 평가할 수 있는 제약조건인지 (실행 계획을 만들 때 필드별로 한 번 확인한다)
+     */
+    static boolean supports(Collection<ConstraintDescriptor<?>> constraints) {
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            Class<? extends Annotation> type = constraint.getAnnotation().annotationType();
+            if (!SUPPORTED.contains(type) || (type != Range.class && !constraint.getComposingConstraints().isEmpty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 필드 하나의 제약조건을 모두 평가한다.
+     * @return 직접 평가할 수 없는 제약조건이나 값 타입이면 아무것도 하지 않고 false (Bean Validation 으로 검증해야 한다)
+     */
+    boolean evaluate(Object target, String property, List<ConstraintDescriptor<?>> constraints,
+                     BindingResult bindingResult, Class<?>[] groups) {
+        Object value = bindingResult.getRawFieldValue(property);
+        if (!canEvaluate(constraints, value)) {
+            return false;
+        }
+
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            if (isValid(constraint, value)) {
+                continue;
+            }
+            //타입 오류 같은 바인딩 실패가 이미 있으면 검증 오류는 추가하지 않는다. (SpringValidatorAdapter 와 동일)
+            FieldError existing = bindingResult.getFieldError(property);
+            if (existing != null && existing.isBindingFailure()) {
+                continue;
+            }
+
+            String objectName = bindingResult.getObjectName();
+            String errorCode = constraint.getAnnotation().annotationType().getSimpleName();
+            bindingResult.addError(new FieldError(objectName, bindingResult.getNestedPath() + property, value, false,
+                    bindingResult.resolveMessageCodes(errorCode, property),
+                    arguments(objectName, property, constraint),
+                    defaultMessage(target, property, constraint, groups)));
+        }
+        return true;
+    }
+
+    private boolean canEvaluate(List<ConstraintDescriptor<?>> constraints, Object value) {
+        if (!supports(constraints)) {
+            return false;
+        }
+        for (ConstraintDescriptor<?> constraint : constraints) {
+            Class<? extends Annotation> type = constraint.getAnnotation().annotationType();
+            if (value == null || type == NotNull.class) {
+                continue;
+            }
+            if (type == NotBlank.class ? !(value instanceof CharSequence) : !isIntegral(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isValid(ConstraintDescriptor<?> constraint, Object value) {
+        Class<? extends Annotation> type = constraint.getAnnotation().annotationType();
+        if (type == NotNull.class) {
+            return value != null;
+        }
+        if (type == NotBlank.class) {
+            return value != null && value.toString().trim().length() > 0;
+        }
+        if (value == null) {
+            return true; //@Range, @Min, @Max 는 null 을 허용한다.
+        }
+
+        long number = ((Number) value).longValue();
+        Map<String, Object> attributes = constraint.getAttributes();
+        if (type == Range.class) {
+            return number >= (Long) attributes.get("min") && number <= (Long) attributes.get("max");
+        }
+        if (type == Min.class) {
+            return number >= (Long) attributes.get("value");
+        }
+        return number <= (Long) attributes.get("value");
+    }
+
+    private boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * SpringValidatorAdapter.getArgumentsForConstraint 와 같은 순서
+     * {0}: 필드명 resolvable, 이후: message, groups, payload 를 뺀 애노테이션 속성 (이름순)
+     */
+    private Object[] arguments(String objectName, String property, ConstraintDescriptor<?> constraint) {
+        return argumentsCache.computeIfAbsent(new ArgumentsKey(objectName, property, constraint.getAnnotation()), key -> {
+            List<Object> arguments = new ArrayList<>();
+            arguments.add(new DefaultMessageSourceResolvable(new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + property, property}, property));
+            Map<String, Object> attributes = new TreeMap<>();
+            constraint.getAttributes().forEach((name, value) -> {
+                if (!INTERNAL_ATTRIBUTES.contains(name)) {
+                    attributes.put(name, value);
+                }
+            });
+            arguments.addAll(attributes.values());
+            return arguments.toArray();
+        });
+    }
+
+    /**
+     * 기본 메시지(Bean Validation 이 보간한 메시지)는 제약조건, 로케일별로 처음 한 번만 Bean Validation 으로 구한다.
+     * 메시지에 검증 값(${validatedValue})이 들어가면 매번 구한다.
+     */
+    private String defaultMessage(Object target, String property, ConstraintDescriptor<?> constraint, Class<?>[] groups) {
+        MessageKey key = new MessageKey(constraint.getAnnotation(), LocaleContextHolder.getLocale());
+        String cached = defaultMessageCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String message = constraint.getMessageTemplate();
+        for (ConstraintViolation<Object> violation : validator.validateProperty(target, property, groups)) {
+            if (violation.getConstraintDescriptor().getAnnotation().equals(constraint.getAnnotation())) {
+                message = violation.getMessage();
+                break;
+            }
+        }
+        if (!constraint.getMessageTemplate().contains("${")) {
+            defaultMessageCache.put(key, message);
+        }
+        return message;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class ArgumentsKey {
+        private final String objectName;
+        private final String property;
+        private final Annotation annotation;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class MessageKey {
+        private final Annotation annotation;
+        private final Locale locale;
+    }
+}
@@ -0,0 +1,175 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.log.ValidationFailureLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 비동기(non-blocking) 상품 검증 API
+ * ValidationItemApiController 와 같은 검증 규칙(ItemSaveForm)으로 검증하고 같은 오류 구조를 응답한다.
+ * 바디를 읽을 수 없는 요청(JSON 형식 오류 등)도 @RequestBody 와 같은 스프링 부트 기본 오류 JSON 으로 응답한다.
+ *
+ * 요청 바디를 ReadListener 로 읽는다.
+ * 데이터가 도착했을 때만 콜백이 호출되기 때문에 느린 클라이언트가 서블릿 스레드를 붙잡고 있지 않는다.
+ */
+@Slf4j
+public class ItemAsyncValidationServlet extends HttpServlet {
+
+    public static final String URL_PATTERN = "/validation/api/async/items/add";
+
+    private static final long ASYNC_TIMEOUT_MILLIS = 10_000;
+    private static final int MAX_BODY_SIZE = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ValidationFailureLogger validationFailureLogger;
+    private final ErrorAttributes errorAttributes;
+
+    public ItemAsyncValidationServlet(ObjectMapper objectMapper, Validator validator, ValidationFailureLogger validationFailureLogger,
+                                      ErrorAttributes errorAttributes) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.validationFailureLogger = validationFailureLogger;
+        this.errorAttributes = errorAttributes;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(ASYNC_TIMEOUT_MILLIS);
+
+        ServletInputStream input = request.getInputStream();
+        input.setReadListener(new BodyReader(input, asyncContext, request, response));
+    }
+
+    private void handle(byte[] body, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("비동기 API 호출");
+
+        ItemSaveForm form;
+        try {
+            form = objectMapper.readValue(body, ItemSaveForm.class);
+        } catch (JsonProcessingException e) {
+            log.info("요청 바디 파싱 실패 message={}", e.getOriginalMessage());
+            writeError(request, response, HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        //@RequestBody 의 기본 objectName 과 같게 맞춘다.
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        validator.validate(form, bindingResult);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (bindingResult.hasErrors()) {
+            validationFailureLogger.record("POST " + URL_PATTERN, bindingResult);
+            objectMapper.writeValue(response.getOutputStream(), bindingResult.getAllErrors());
+            return;
+        }
+
+        log.info("성공 로직 실행");
+        objectMapper.writeValue(response.getOutputStream(), form);
+    }
+
+    /**
+     * 스프링 부트 기본 오류 JSON (timestamp, status, error, message, path)
+     * 컨트롤러는 sendError 로 /error(BasicErrorController)에 맡기지만, 비동기 처리 중이라 같은 ErrorAttributes 로 직접 쓴다.
+     * 옵션은 server.error.* 기본값과 같다. (메시지, 예외 정보 제외)
+     */
+    private void writeError(HttpServletRequest request, HttpServletResponse response, int status) throws IOException {
+        request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+        Map<String, Object> body = errorAttributes.getErrorAttributes(new ServletWebRequest(request), ErrorAttributeOptions.defaults());
+
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private class BodyReader implements ReadListener {
+
+        private final ServletInputStream input;
+        private final AsyncContext asyncContext;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[4096];
+        private boolean completed;
+
+        BodyReader(ServletInputStream input, AsyncContext asyncContext, HttpServletRequest request, HttpServletResponse response) {
+            this.input = input;
+            this.asyncContext = asyncContext;
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            //isReady() 가 false 가 되면 다음 데이터가 도착할 때 다시 호출된다.
+            while (!completed && input.isReady() && !input.isFinished()) {
+                int read = input.read(buffer);
+                if (read == -1) {
+                    return;
+                }
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_BODY_SIZE) {
+                    try {
+                        writeError(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    } finally {
+                        complete();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if (completed) {
+                return;
+            }
+            try {
+                handle(body.toByteArray(), request, response);
+            } finally {
+                complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.info("요청 바디 읽기 실패", t);
+            if (completed) {
+                return;
+            }
+            try {
+                writeError(request, response, HttpServletResponse.SC_BAD_REQUEST);
+            } catch (IOException e) {
+                log.info("오류 응답 쓰기 실패", e); //연결이 끊긴 경우
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            completed = true;
+            asyncContext.complete();
+        }
+    }
+}
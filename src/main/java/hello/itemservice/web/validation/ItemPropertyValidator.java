@@ -0,0 +1,235 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemSnapshot;
+import hello.itemservice.web.validation.rule.RuleViolation;
+import org.hibernate.validator.engine.HibernateConstraintViolation;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 필드 단위 Bean Validation
+ * 오류 코드, 메시지 인자는 @Validated 와 같다. (SpringValidatorAdapter 의 변환 로직을 그대로 사용)
+ *
+ * ConstraintPlanCache 의 실행 계획으로 제약조건이 있는 필드만 검증한다.
+ * 기본 제약조건은 DirectConstraintEvaluator 가 ConstraintViolation 없이 바로 FieldError 로 담는다.
+ * 같은 입력값이면 ValidationResultCache 에 저장된 오류를 다시 담고 검증을 생략한다.
+ * WebConfig 에서 @Validated 가 사용하는 검증기로 등록한다.
+ */
+@Component
+public class ItemPropertyValidator implements SmartValidator {
+
+    private final Validator validator;
+    private final ConstraintPlanCache constraintPlanCache;
+    private final ViolationProcessor violationProcessor;
+    private final DirectConstraintEvaluator directConstraintEvaluator;
+    private final ValidationResultCache resultCache;
+
+    public ItemPropertyValidator(Validator validator, ConstraintPlanCache constraintPlanCache) {
+        this(validator, constraintPlanCache, ValidationResultCache.disabled());
+    }
+
+    @Autowired
+    public ItemPropertyValidator(Validator validator, ConstraintPlanCache constraintPlanCache, ValidationResultCache resultCache) {
+        this.validator = validator;
+        this.constraintPlanCache = constraintPlanCache;
+        this.violationProcessor = new ViolationProcessor(validator);
+        this.directConstraintEvaluator = new DirectConstraintEvaluator(validator);
+        this.resultCache = resultCache;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    /**
+     * @param validationHints @Validated(SaveCheck.class) 처럼 넘어온 검증 그룹
+     */
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Class<?>[] groups = asGroups(validationHints);
+        ConstraintPlan plan = constraintPlanCache.getPlan(target.getClass(), groups);
+        if (plan.isEmpty()) {
+            return;
+        }
+
+        ValidationResultCache.CacheKey key = errors instanceof BindingResult
+                ? resultCache.keyOf(target, groups, (BindingResult) errors) : null;
+        if (key == null) {
+            validateWithPlan(target, errors, plan, groups);
+            return;
+        }
+
+        BindingResult bindingResult = (BindingResult) errors;
+        if (resultCache.replay(key, bindingResult)) {
+            return;
+        }
+        int errorCountBefore = bindingResult.getErrorCount();
+        validateWithPlan(target, bindingResult, plan, groups);
+        resultCache.put(key, bindingResult, errorCountBefore);
+    }
+
+    /**
+     * 결과 캐시를 쓰지 않는 검증 (대량 가져오기처럼 같은 입력이 거의 다시 오지 않을 때)
+     * 행마다 캐시에 넣으면 화면 요청의 검증 결과를 밀어낸다.
+     */
+    public void validateWithoutCache(Object target, Errors errors, Class<?>... groups) {
+        ConstraintPlan plan = constraintPlanCache.getPlan(target.getClass(), groups);
+        if (!plan.isEmpty()) {
+            validateWithPlan(target, errors, plan, groups);
+        }
+    }
+
+    private void validateWithPlan(Object target, Errors errors, ConstraintPlan plan, Class<?>[] groups) {
+        if (plan.isFullValidation() || !(errors instanceof BindingResult)) {
+            violationProcessor.process(validator.validate(target, groups), errors);
+            return;
+        }
+
+        //직접 평가할 수 있는 필드는 BindingResult 에 바로 담고, 나머지만 Bean Validation 으로 검증
+        BindingResult bindingResult = (BindingResult) errors;
+        Set<ConstraintViolation<Object>> violations = new LinkedHashSet<>();
+        for (String property : plan.getProperties()) {
+            if (!plan.isDirect(property)
+                    || !directConstraintEvaluator.evaluate(target, property, plan.getConstraints(property), bindingResult, groups)) {
+                violations.addAll(validator.validateProperty(target, property, groups));
+            }
+        }
+        if (!violations.isEmpty()) {
+            violationProcessor.process(violations, errors);
+        }
+    }
+
+    /**
+     * 수정 검증: 저장된 상품과 비교해서 바뀐 필드를 구하고 폼을 검증한다.
+     * 바뀌지 않은 필드도 검증한다. 저장된 상품이 지금 제약조건을 통과한다고 볼 수 없기 때문 (V3 처럼 검증 없이 저장하는 경로, 규칙 교체)
+     * 기본 제약조건(@NotBlank 등)은 직접 평가해서 바뀌지 않은 필드를 다시 검증하는 비용이 작다. (validate 와 같은 계획)
+     * 복합 룰(totalPriceMin)은 호출하는 쪽에서 검증해야 한다.
+     *
+     * @return 바뀐 필드 이름 (저장된 상품이 없으면 모든 필드)
+     */
+    public Set<String> validateChanged(Object form, ItemSnapshot storedItem, Errors errors, Class<?>... groups) {
+        BeanWrapper formWrapper = PropertyAccessorFactory.forBeanPropertyAccess(form);
+        BeanWrapper storedWrapper = storedItem != null ? PropertyAccessorFactory.forBeanPropertyAccess(storedItem) : null;
+
+        Set<String> changedProperties = new LinkedHashSet<>();
+        for (PropertyDescriptor descriptor : formWrapper.getPropertyDescriptors()) {
+            String property = descriptor.getName();
+            if (descriptor.getReadMethod() == null || "class".equals(property)) {
+                continue;
+            }
+            if (storedWrapper == null || !storedWrapper.isReadableProperty(property)
+                    || !Objects.equals(formWrapper.getPropertyValue(property), storedWrapper.getPropertyValue(property))) {
+                changedProperties.add(property);
+            }
+        }
+
+        ConstraintPlan plan = constraintPlanCache.getPlan(form.getClass(), groups);
+        if (!plan.isEmpty()) {
+            validateWithPlan(form, errors, plan, groups);
+        }
+        return changedProperties;
+    }
+
+    /**
+     * 값 하나만 검증 (validateValue 와 같은 의미)
+     * 새 폼 객체에 해당 필드 값만 바인딩하고 그 필드의 제약조건만 검증한다.
+     * 타입 변환에 실패하면 컨트롤러 바인딩과 같은 typeMismatch 오류가 담긴다.
+     */
+    public BindingResult validateValue(Class<?> formClass, String objectName, String property, String value, Class<?>... groups) {
+        Object form = BeanUtils.instantiateClass(formClass);
+        DataBinder binder = new DataBinder(form, objectName);
+        binder.setConversionService(ApplicationConversionService.getSharedInstance());
+        binder.setAllowedFields(property);
+
+        MutablePropertyValues propertyValues = new MutablePropertyValues();
+        propertyValues.add(property, value);
+        binder.bind(propertyValues);
+
+        BindingResult bindingResult = binder.getBindingResult();
+        if (!bindingResult.hasFieldErrors(property)) {
+            violationProcessor.process(new LinkedHashSet<>(validator.validateProperty(form, property, groups)), bindingResult);
+        }
+        return bindingResult;
+    }
+
+    private Class<?>[] asGroups(Object[] validationHints) {
+        List<Class<?>> groups = new ArrayList<>(validationHints.length);
+        for (Object hint : validationHints) {
+            if (hint instanceof Class) {
+                groups.add((Class<?>) hint);
+            }
+        }
+        return groups.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * ConstraintViolation -> FieldError 변환은 SpringValidatorAdapter 의 것을 그대로 사용한다.
+     * 규칙 값으로 검증한 제약조건(RuleViolation)만 @Range, @Max 와 같은 코드와 인자로 직접 담는다.
+     * (빈으로 등록하면 javax.validation.Validator 타입이 되어 기본 검증기 등록을 막기 때문에 내부에서만 사용)
+     */
+    private static class ViolationProcessor extends SpringValidatorAdapter {
+
+        ViolationProcessor(Validator targetValidator) {
+            super(targetValidator);
+        }
+
+        void process(Set<ConstraintViolation<Object>> violations, Errors errors) {
+            for (ConstraintViolation<Object> violation : violations) {
+                RuleViolation ruleViolation = violation instanceof HibernateConstraintViolation
+                        ? ((HibernateConstraintViolation<Object>) violation).getDynamicPayload(RuleViolation.class) : null;
+                if (ruleViolation == null) {
+                    processConstraintViolations(Collections.singleton(violation), errors);
+                } else {
+                    rejectRule(violation, ruleViolation, errors);
+                }
+            }
+        }
+
+        private void rejectRule(ConstraintViolation<Object> violation, RuleViolation ruleViolation, Errors errors) {
+            String field = determineField(violation);
+            FieldError existing = errors.getFieldError(field);
+            if (existing != null && existing.isBindingFailure()) {
+                return;
+            }
+
+            Object[] arguments = new Object[ruleViolation.getArguments().length + 1];
+            arguments[0] = getResolvableField(errors.getObjectName(), field);
+            System.arraycopy(ruleViolation.getArguments(), 0, arguments, 1, ruleViolation.getArguments().length);
+            if (!(errors instanceof BindingResult)) {
+                errors.rejectValue(field, ruleViolation.getErrorCode(), arguments, violation.getMessage());
+                return;
+            }
+            BindingResult bindingResult = (BindingResult) errors;
+            bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + field,
+                    getRejectedValue(field, violation, bindingResult), false,
+                    bindingResult.resolveMessageCodes(ruleViolation.getErrorCode(), field), arguments, violation.getMessage()));
+        }
+    }
+}
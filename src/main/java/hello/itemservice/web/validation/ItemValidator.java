@@ -1,14 +1,18 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
-import org.springframework.validation.ValidationUtils;
 import org.springframework.validation.Validator;
 
 @Component
+@RequiredArgsConstructor
 public class ItemValidator implements Validator {
+
+    private final ItemRulesHolder itemRulesHolder;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return Item.class.isAssignableFrom(clazz);
@@ -16,36 +20,13 @@ public class ItemValidator implements Validator {
         //item == subItem
     }
 
+    /**
+     * 검증 로직은 규칙 파일(item-rules.properties)로 만든 ItemRules 가 실행한다.
+     * 필수 상품명, 가격 범위, 수량 최대값, 가격 * 수량 합 최소값(GlobalError)
+     */
     @Override
     public void validate(Object target, Errors errors) {
         Item item = (Item) target;
-
-        //검증 로직
-
-        if (!StringUtils.hasText(item.getItemName())) {
-            errors.rejectValue("itemName", "required");
-        }
-
-        /**
-         * StringUtils 클래스의 hasText(String) 메소드는
-         * null 체크, 길이가 0보다 큰지 체크, 공백이 아닌 문자열이 하나라도 포함되었는지까지 한번에 검증해준다!
-         */
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
-
-        }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            errors.rejectValue("quantity", "max", new Object[]{9999}, "기본 오류메시지 생략가능");
-        }
-
-        //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
-
+        itemRulesHolder.get().validate(item, errors);
     }
 }
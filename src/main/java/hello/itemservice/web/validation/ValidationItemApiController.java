@@ -1,6 +1,9 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.web.idempotency.IdempotencyFilter;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.log.ValidationFailureLogger;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
@@ -9,18 +12,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final ValidationFailureLogger validationFailureLogger;
+
     @PostMapping("/add")
-    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult) {
+    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult, HttpServletRequest request) {
 
         log.info("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
-            log.info("검증 오류 발생 errors={}", bindingResult);
+            validationFailureLogger.record("POST /validation/api/items/add", bindingResult);
+            IdempotencyFilter.rejectReplay(request); //고쳐서 같은 키로 다시 보낼 수 있어야 한다.
             return bindingResult.getAllErrors();
         }
 
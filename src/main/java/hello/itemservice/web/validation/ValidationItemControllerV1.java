@@ -1,7 +1,11 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemNameIndex;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
+import hello.itemservice.web.validation.rule.ItemRules;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -13,6 +17,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -21,17 +26,19 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemRulesHolder itemRulesHolder;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) String q, Model model) {
+        List<ItemSnapshot> items = StringUtils.hasText(q) ? itemNameIndex.search(q, ItemNameIndex.DEFAULT_LIMIT) : itemRepository.findAll();
         model.addAttribute("items", items);
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) { //@PathVariable(경로 변수) 사용 (@GetMapping("/{itemId}")에서 {itemId} 이거
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
@@ -39,6 +46,7 @@ public class ValidationItemControllerV1 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); //중복 제출 방지 키
         return "validation/v1/addForm";
     }
 
@@ -50,6 +58,7 @@ public class ValidationItemControllerV1 {
      */
     @PostMapping("/add")
     public String addItem(@ModelAttribute Item item, RedirectAttributes redirectAttributes, Model model) { //@ModelAttribute: 생략가능
+        ItemRules rules = itemRulesHolder.get(); //검증 중에 규칙이 교체되어도 같은 규칙으로 검증
 
         //검증 오류 결과를 보관
         Map<String, String> errors = new HashMap<>();
@@ -62,18 +71,18 @@ public class ValidationItemControllerV1 {
         if (!StringUtils.hasText(item.getItemName())) {
             errors.put("itemName", "상품 이름은 필수입니다.");
         }
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            errors.put("price", "가격은 1,000 ~ 1,000,000까지 허용합니다.");
+        if (!rules.isPriceInRange(item.getPrice())) {
+            errors.put("price", String.format("가격은 %,d ~ %,d까지 허용합니다.", rules.getPriceMin(), rules.getPriceMax()));
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            errors.put("quantity", "수량은 최대 9,999까지 허용합니다");
+        if (!rules.isQuantityInRange(item.getQuantity())) {
+            errors.put("quantity", String.format("수량은 최대 %,d까지 허용합니다", rules.getQuantityMax()));
         }
 
         //특정 필드가 아닌 복합 룰 검증
         if (item.getPrice() != null && item.getQuantity() != null) {
             int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice);
+            if (resultPrice < rules.getTotalPriceMin()) {
+                errors.put("globalError", String.format("가격 * 수량의 합은 %,d원 이상이어야 합니다. 현재 값 = %d", rules.getTotalPriceMin(), resultPrice));
             }
         }
 
@@ -86,7 +95,7 @@ public class ValidationItemControllerV1 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v1/items/{itemId}";
@@ -94,7 +103,7 @@ public class ValidationItemControllerV1 {
 
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v1/editForm";
     }
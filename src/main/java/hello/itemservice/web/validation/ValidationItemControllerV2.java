@@ -1,7 +1,11 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemNameIndex;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
+import hello.itemservice.web.validation.rule.ItemRules;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -19,6 +23,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -27,7 +32,9 @@ import java.util.Map;
 public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
+    private final ItemNameIndex itemNameIndex;
     private final ItemValidator itemValidator;
+    private final ItemRulesHolder itemRulesHolder;
 
     @InitBinder// 컨트롤러가 호출될 때 마다 만들어짐
     public void init(WebDataBinder dataBinder) {
@@ -35,15 +42,15 @@ public class ValidationItemControllerV2 {
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) String q, Model model) {
+        List<ItemSnapshot> items = StringUtils.hasText(q) ? itemNameIndex.search(q, ItemNameIndex.DEFAULT_LIMIT) : itemRepository.findAll();
         model.addAttribute("items", items);
         return "validation/v2/items";
     }
 
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) { //@PathVariable(경로 변수) 사용 (@GetMapping("/{itemId}")에서 {itemId} 이거
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v2/item";
     }
@@ -51,6 +58,7 @@ public class ValidationItemControllerV2 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); //중복 제출 방지 키
         return "validation/v2/addForm";
     }
 
@@ -83,6 +91,7 @@ public class ValidationItemControllerV2 {
     */
 //    @PostMapping("/add")
     public String addItemV1(@ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
+        ItemRules rules = itemRulesHolder.get(); //검증 중에 규칙이 교체되어도 같은 규칙으로 검증
 
 
         //검증 로직
@@ -93,19 +102,19 @@ public class ValidationItemControllerV2 {
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.addError(new FieldError("item", "itemName", "상품 이름은 필수입니다."));
         }
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            bindingResult.addError(new FieldError("item", "price", "가격은 1,000 ~ 1,000,000까지 허용합니다."));
+        if (!rules.isPriceInRange(item.getPrice())) {
+            bindingResult.addError(new FieldError("item", "price", String.format("가격은 %,d ~ %,d까지 허용합니다.", rules.getPriceMin(), rules.getPriceMax())));
 
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            bindingResult.addError(new FieldError("item", "quantity", "수량은 최대 9,999까지 허용합니다"));
+        if (!rules.isQuantityInRange(item.getQuantity())) {
+            bindingResult.addError(new FieldError("item", "quantity", String.format("수량은 최대 %,d까지 허용합니다", rules.getQuantityMax())));
         }
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
         if (item.getPrice() != null && item.getQuantity() != null) {
             int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.addError(new ObjectError("item", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
+            if (resultPrice < rules.getTotalPriceMin()) {
+                bindingResult.addError(new ObjectError("item", String.format("가격 * 수량의 합은 %,d원 이상이어야 합니다. 현재 값 = %d", rules.getTotalPriceMin(), resultPrice)));
             }
         }
 
@@ -117,7 +126,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -136,6 +145,7 @@ public class ValidationItemControllerV2 {
      */
 //    @PostMapping("/add")
     public String addItemV2(@ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
+        ItemRules rules = itemRulesHolder.get(); //검증 중에 규칙이 교체되어도 같은 규칙으로 검증
 
 
         //검증 로직
@@ -146,19 +156,19 @@ public class ValidationItemControllerV2 {
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.addError(new FieldError("item", "itemName", item.getItemName(), false, null, null, "상품 이름은 필수입니다."));
         }
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, null, null, "가격은 1,000 ~ 1,000,000까지 허용합니다."));
+        if (!rules.isPriceInRange(item.getPrice())) {
+            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, null, null, String.format("가격은 %,d ~ %,d까지 허용합니다.", rules.getPriceMin(), rules.getPriceMax())));
 
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, null, null, "수량은 최대 9,999까지 허용합니다"));
+        if (!rules.isQuantityInRange(item.getQuantity())) {
+            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, null, null, String.format("수량은 최대 %,d까지 허용합니다", rules.getQuantityMax())));
         }
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
         if (item.getPrice() != null && item.getQuantity() != null) {
             int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.addError(new ObjectError("item", null, null,  "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
+            if (resultPrice < rules.getTotalPriceMin()) {
+                bindingResult.addError(new ObjectError("item", null, null,  String.format("가격 * 수량의 합은 %,d원 이상이어야 합니다. 현재 값 = %d", rules.getTotalPriceMin(), resultPrice)));
             }
         }
 
@@ -170,7 +180,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -193,6 +203,7 @@ public class ValidationItemControllerV2 {
      */
 //    @PostMapping("/add")
     public String addItemV3(@ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
+        ItemRules rules = itemRulesHolder.get(); //검증 중에 규칙이 교체되어도 같은 규칙으로 검증
 
         //검증 로직
         /**
@@ -202,19 +213,19 @@ public class ValidationItemControllerV2 {
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.addError(new FieldError("item", "itemName", item.getItemName(), false, new String[] {"required.item.itemName", "required.default"}, null, null));
         }
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, new String[] {"range.item.price"}, new Object[]{1000, 1000000}, null));
+        if (!rules.isPriceInRange(item.getPrice())) {
+            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, new String[] {"range.item.price"}, rules.getPriceRangeArgs(), null));
 
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, new String[]{"max.item.quantity"}, new Object[]{9999}, null));
+        if (!rules.isQuantityInRange(item.getQuantity())) {
+            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, new String[]{"max.item.quantity"}, rules.getQuantityMaxArgs(), null));
         }
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
         if (item.getPrice() != null && item.getQuantity() != null) {
             int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.addError(new ObjectError("item", new String[]{"totalPriceMin"}, new Object[]{10000, resultPrice}, null));
+            if (resultPrice < rules.getTotalPriceMin()) {
+                bindingResult.addError(new ObjectError("item", new String[]{"totalPriceMin"}, new Object[]{rules.getTotalPriceMin(), resultPrice}, null));
             }
         }
 
@@ -226,7 +237,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -247,6 +258,7 @@ public class ValidationItemControllerV2 {
      */
 //    @PostMapping("/add")
     public String addItemV4(@ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
+        ItemRules rules = itemRulesHolder.get(); //검증 중에 규칙이 교체되어도 같은 규칙으로 검증
 
         log.info("objectName={}", bindingResult.getObjectName());
         log.info("target={}", bindingResult.getTarget());
@@ -263,19 +275,19 @@ public class ValidationItemControllerV2 {
          * StringUtils 클래스의 hasText(String) 메소드는
          * null 체크, 길이가 0보다 큰지 체크, 공백이 아닌 문자열이 하나라도 포함되었는지까지 한번에 검증해준다!
          */
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
-            bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        if (!rules.isPriceInRange(item.getPrice())) {
+            bindingResult.rejectValue("price", "range", rules.getPriceRangeArgs(), null);
 
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            bindingResult.rejectValue("quantity", "max", new Object[]{9999}, "기본 오류메시지 생략가능");
+        if (!rules.isQuantityInRange(item.getQuantity())) {
+            bindingResult.rejectValue("quantity", "max", rules.getQuantityMaxArgs(), "기본 오류메시지 생략가능");
         }
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
         if (item.getPrice() != null && item.getQuantity() != null) {
             int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            if (resultPrice < rules.getTotalPriceMin()) {
+                bindingResult.reject("totalPriceMin", new Object[]{rules.getTotalPriceMin(), resultPrice}, null);
             }
         }
 
@@ -287,7 +299,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -306,7 +318,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -327,7 +339,7 @@ public class ValidationItemControllerV2 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v2/items/{itemId}";
@@ -335,7 +347,7 @@ public class ValidationItemControllerV2 {
 
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v2/editForm";
     }
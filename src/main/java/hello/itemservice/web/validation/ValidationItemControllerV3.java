@@ -1,9 +1,13 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemNameIndex;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.log.ValidationFailureLogger;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -27,17 +32,21 @@ import java.util.List;
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemPropertyValidator itemPropertyValidator;
+    private final ItemRulesHolder itemRulesHolder;
+    private final ValidationFailureLogger validationFailureLogger;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) String q, Model model) {
+        List<ItemSnapshot> items = StringUtils.hasText(q) ? itemNameIndex.search(q, ItemNameIndex.DEFAULT_LIMIT) : itemRepository.findAll();
         model.addAttribute("items", items);
         return "validation/v3/items";
     }
 
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) { //@PathVariable(경로 변수) 사용 (@GetMapping("/{itemId}")에서 {itemId} 이거
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v3/item";
     }
@@ -45,6 +54,7 @@ public class ValidationItemControllerV3 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); //중복 제출 방지 키
         return "validation/v3/addForm";
     }
 
@@ -56,12 +66,7 @@ public class ValidationItemControllerV3 {
     public String addItem(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        itemRulesHolder.get().validateTotalPrice(item.getPrice(), item.getQuantity(), bindingResult);
 
 
         //검증에 실패하면 다시 입력 폼으로
@@ -72,7 +77,7 @@ public class ValidationItemControllerV3 {
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v3/items/{itemId}";
@@ -82,23 +87,18 @@ public class ValidationItemControllerV3 {
     public String addItem2(@Validated(SaveCheck.class) @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        itemRulesHolder.get().validateTotalPrice(item.getPrice(), item.getQuantity(), bindingResult);
 
 
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {//bindingResult.에러가 있으면
-            log.info("errors = {}", bindingResult);//model에 자동으로 담긴다.
+            validationFailureLogger.record("POST /validation/v3/items/add", bindingResult);//model에 자동으로 담긴다.
             return "validation/v3/addForm";//파라미터에서 받은 item 객체가 model에 담기기 때문에 작성한 데이터 유지
         }
 
         //성공 로직
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v3/items/{itemId}";
@@ -106,7 +106,7 @@ public class ValidationItemControllerV3 {
 
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v3/editForm";
     }
@@ -116,12 +116,7 @@ public class ValidationItemControllerV3 {
 //    @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute Item item, BindingResult bindingResult) {
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        itemRulesHolder.get().validateTotalPrice(item.getPrice(), item.getQuantity(), bindingResult);
 
         if (bindingResult.hasErrors()) {
             log.info("errors={}", bindingResult);
@@ -133,18 +128,19 @@ public class ValidationItemControllerV3 {
         return "redirect:/validation/v3/items/{itemId}";
     }
 
+    /**
+     * 저장된 상품과 상관없이 모든 필드를 검증한다. (ItemPropertyValidator, 기본 제약조건은 직접 평가)
+     * 저장된 상품이 검증 없이 저장되었거나 규칙이 교체되었을 수 있어서, 바뀌지 않은 필드도 결과는 전체 검증과 같아야 한다.
+     */
     @PostMapping("/{itemId}/edit")
-    public String edit2(@PathVariable Long itemId, @Validated(UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult) {
-        //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+    public String edit2(@PathVariable Long itemId, @ModelAttribute Item item, BindingResult bindingResult) {
+        itemPropertyValidator.validateChanged(item, itemRepository.findById(itemId), bindingResult, UpdateCheck.class);
+
+        //특정 필드가 아닌 복합 룰 검증 (GlobalError): 규칙이 바뀌었을 수 있어서 바뀐 필드와 상관없이 항상 검증
+        itemRulesHolder.get().validateTotalPrice(item.getPrice(), item.getQuantity(), bindingResult);
 
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationFailureLogger.record("POST /validation/v3/items/{itemId}/edit", bindingResult);
             return "validation/v3/editForm";
         }
 
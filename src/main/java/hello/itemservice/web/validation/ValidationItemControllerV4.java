@@ -1,21 +1,27 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemNameIndex;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.log.ValidationFailureLogger;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -24,17 +30,21 @@ import java.util.List;
 public class ValidationItemControllerV4 {
 
     private final ItemRepository itemRepository;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemPropertyValidator itemPropertyValidator;
+    private final ItemRulesHolder itemRulesHolder;
+    private final ValidationFailureLogger validationFailureLogger;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) String q, Model model) {
+        List<ItemSnapshot> items = StringUtils.hasText(q) ? itemNameIndex.search(q, ItemNameIndex.DEFAULT_LIMIT) : itemRepository.findAll();
         model.addAttribute("items", items);
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) { //@PathVariable(경로 변수) 사용 (@GetMapping("/{itemId}")에서 {itemId} 이거
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -42,6 +52,7 @@ public class ValidationItemControllerV4 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); //중복 제출 방지 키
         return "validation/v4/addForm";
     }
 
@@ -53,17 +64,12 @@ public class ValidationItemControllerV4 {
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) { //@ModelAttribute: 생략가능
 
         //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        itemRulesHolder.get().validateTotalPrice(form.getPrice(), form.getQuantity(), bindingResult);
 
 
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {//bindingResult.에러가 있으면
-            log.info("errors = {}", bindingResult);//model에 자동으로 담긴다.
+            validationFailureLogger.record("POST /validation/v4/items/add", bindingResult);//model에 자동으로 담긴다.
             return "validation/v4/addForm";//파라미터에서 받은 item 객체가 model에 담기기 때문에 작성한 데이터 유지
         }
 
@@ -74,7 +80,7 @@ public class ValidationItemControllerV4 {
         item.setPrice(form.getPrice());
         item.setQuantity(form.getQuantity());
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true); //쿼리스트링으로 넘어감
         return "redirect:/validation/v4/items/{itemId}";
@@ -82,24 +88,25 @@ public class ValidationItemControllerV4 {
 
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+        ItemSnapshot item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v4/editForm";
     }
 
+    /**
+     * 저장된 상품과 상관없이 모든 필드를 검증한다. (ItemPropertyValidator, 기본 제약조건은 직접 평가)
+     * 저장된 상품이 검증 없이 저장되었거나 규칙이 교체되었을 수 있어서, 바뀌지 않은 필드도 결과는 전체 검증과 같아야 한다.
+     */
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
+    public String edit(@PathVariable Long itemId, @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
 
-        //특정 필드가 아닌 복합 룰 검증 (GlobalError)
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        itemPropertyValidator.validateChanged(form, itemRepository.findById(itemId), bindingResult);
+
+        //특정 필드가 아닌 복합 룰 검증 (GlobalError): 규칙이 바뀌었을 수 있어서 바뀐 필드와 상관없이 항상 검증
+        itemRulesHolder.get().validateTotalPrice(form.getPrice(), form.getQuantity(), bindingResult);
 
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationFailureLogger.record("POST /validation/v4/items/{itemId}/edit", bindingResult);
             return "validation/v4/editForm";
         }
 
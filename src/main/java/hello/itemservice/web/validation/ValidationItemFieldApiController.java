@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.message.MessagesReloadedEvent;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.beans.PropertyDescriptor;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 입력 중 필드 단위 검증 API (dry-run)
+ * 폼 전체를 바인딩하거나 템플릿을 렌더링하지 않고 값 하나만 검증해서 메시지만 응답한다.
+ * 예) GET /validation/api/items/validate?form=save&field=price&value=500
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items/validate")
+@RequiredArgsConstructor
+public class ValidationItemFieldApiController {
+
+    private static final Map<String, Class<?>> FORMS = Map.of(
+            "save", ItemSaveForm.class,
+            "update", ItemUpdateForm.class);
+
+    /**
+     * 마이크로 캐시: 같은 입력이 연속으로 들어오는 경우(키 입력)가 많아서 짧게만 보관한다.
+     */
+    private static final long CACHE_TTL_MILLIS = 5_000;
+    private static final int CACHE_MAX_SIZE = 10_000;
+
+    private final ItemPropertyValidator itemPropertyValidator;
+    private final MessageSource messageSource;
+
+    private final Map<CacheKey, CachedResult> cache = new ConcurrentHashMap<>();
+
+    @GetMapping
+    public ResponseEntity<FieldCheckResult> validate(@RequestParam String form, @RequestParam String field,
+                                                     @RequestParam(required = false) String value, Locale locale) {
+        Class<?> formClass = FORMS.get(form);
+        if (formClass == null || !isWritable(formClass, field)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        CacheKey key = new CacheKey(formClass, field, value, locale);
+        long now = System.currentTimeMillis();
+        CachedResult cached = cache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return ResponseEntity.ok(cached.result);
+        }
+
+        FieldCheckResult result = check(formClass, field, value, locale);
+        if (cache.size() >= CACHE_MAX_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, new CachedResult(result, now + CACHE_TTL_MILLIS));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 메시지 파일이 바뀌면 캐시된 메시지도 버린다.
+     */
+    @EventListener(MessagesReloadedEvent.class)
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private boolean isWritable(Class<?> formClass, String field) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(formClass, field);
+        return descriptor != null && descriptor.getWriteMethod() != null;
+    }
+
+    private FieldCheckResult check(Class<?> formClass, String field, String value, Locale locale) {
+        //폼 화면과 같은 메시지 코드를 쓰도록 objectName 은 "item"
+        BindingResult bindingResult = itemPropertyValidator.validateValue(formClass, "item", field, value);
+        FieldError fieldError = bindingResult.getFieldError(field);
+        if (fieldError == null) {
+            return new FieldCheckResult(field, true, null);
+        }
+        return new FieldCheckResult(field, false, messageSource.getMessage(fieldError, locale));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class FieldCheckResult {
+        private final String field;
+        private final boolean valid;
+        private final String message;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResult {
+        private final FieldCheckResult result;
+        private final long expiresAt;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CacheKey {
+        private final Class<?> formClass;
+        private final String field;
+        private final String value;
+        private final Locale locale;
+    }
+}
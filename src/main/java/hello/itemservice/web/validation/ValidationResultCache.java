@@ -0,0 +1,228 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.message.MessagesReloadedEvent;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.rule.ItemRulesReloadedEvent;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 검증 결과 캐시 (같은 입력값이면 검증하지 않고 이전 오류를 그대로 다시 담는다)
+ * 오류 후 다시 제출, 자동화 클라이언트, 재시도처럼 같은 값이 반복해서 들어오는 경우를 위한 것이다.
+ *
+ * 키: (폼 타입, objectName, 검증 그룹, 바인딩된 값, 바인딩 실패 필드)
+ * 값: 그 검증에서 추가된 오류 목록 (오류가 없었으면 빈 목록)
+ * 대상: ItemSaveForm, ItemUpdateForm, Item (다른 타입은 캐시하지 않는다)
+ *
+ * 구간(segment)별 LRU 라서 락이 한 곳에 몰리지 않는다. 전체 크기는 validation-cache.max-size 를 넘지 않는다.
+ * 검증 규칙이나 메시지 파일이 바뀌면 비운다. validation-cache.enabled=false 로 끌 수 있다.
+ */
+@Component
+public class ValidationResultCache {
+
+    private static final int SEGMENTS = 16;
+
+    /**
+     * 타입별 값 추출 (리플렉션 없이 getter 로 읽는다)
+     */
+    private static final Map<Class<?>, Function<Object, Object[]>> VALUE_EXTRACTORS = Map.of(
+            ItemSaveForm.class, target -> {
+                ItemSaveForm form = (ItemSaveForm) target;
+                return new Object[]{form.getItemName(), form.getPrice(), form.getQuantity()};
+            },
+            ItemUpdateForm.class, target -> {
+                ItemUpdateForm form = (ItemUpdateForm) target;
+                return new Object[]{form.getId(), form.getItemName(), form.getPrice(), form.getQuantity()};
+            },
+            Item.class, target -> {
+                Item item = (Item) target;
+                return new Object[]{item.getId(), item.getItemName(), item.getPrice(), item.getQuantity()};
+            });
+
+    private final boolean enabled;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ValidationResultCache(@Value("${validation-cache.enabled:true}") boolean enabled,
+                                 @Value("${validation-cache.max-size:10000}") int maxSize) {
+        if (maxSize < SEGMENTS) {
+            throw new IllegalArgumentException("validation-cache.max-size 는 " + SEGMENTS + " 이상이어야 합니다. maxSize=" + maxSize);
+        }
+        this.enabled = enabled;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxSize / SEGMENTS);
+        }
+    }
+
+    /**
+     * 캐시를 쓰지 않는 인스턴스
+     */
+    public static ValidationResultCache disabled() {
+        return new ValidationResultCache(false, SEGMENTS);
+    }
+
+    /**
+     * @return 캐시할 수 없으면 null (꺼져 있음, 대상 타입이 아님, 바인딩 실패가 아닌 오류가 이미 있음)
+     */
+    CacheKey keyOf(Object target, Class<?>[] groups, BindingResult bindingResult) {
+        if (!enabled) {
+            return null;
+        }
+        Function<Object, Object[]> extractor = VALUE_EXTRACTORS.get(target.getClass());
+        if (extractor == null || bindingResult.hasGlobalErrors()) {
+            return null;
+        }
+        List<String> bindingFailures = List.of();
+        if (bindingResult.hasFieldErrors()) {
+            bindingFailures = new ArrayList<>();
+            for (FieldError fieldError : bindingResult.getFieldErrors()) {
+                if (!fieldError.isBindingFailure()) {
+                    return null;
+                }
+                bindingFailures.add(fieldError.getField());
+            }
+        }
+        return new CacheKey(target.getClass(), bindingResult.getObjectName(), List.of(groups),
+                extractor.apply(target), bindingFailures);
+    }
+
+    /**
+     * 캐시된 오류를 bindingResult 에 다시 담는다.
+     * @return 캐시에 없으면 false
+     */
+    boolean replay(CacheKey key, BindingResult bindingResult) {
+        List<ObjectError> errors = segmentOf(key).get(key);
+        if (errors == null) {
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        for (ObjectError error : errors) {
+            bindingResult.addError(error);
+        }
+        return true;
+    }
+
+    /**
+     * 검증으로 추가된 오류(errorCountBefore 이후)를 저장한다.
+     */
+    void put(CacheKey key, BindingResult bindingResult, int errorCountBefore) {
+        List<ObjectError> allErrors = bindingResult.getAllErrors();
+        segmentOf(key).put(key, List.copyOf(allErrors.subList(errorCountBefore, allErrors.size())));
+    }
+
+    private Segment segmentOf(CacheKey key) {
+        return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+    }
+
+    /**
+     * 검증 규칙이나 메시지가 바뀌면 이전 결과(오류 코드, 인자, 기본 메시지)를 버린다.
+     */
+    @EventListener({ItemRulesReloadedEvent.class, MessagesReloadedEvent.class})
+    public void invalidate() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        invalidations.increment();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    static class CacheKey {
+        private final Class<?> type;
+        private final String objectName;
+        private final List<Class<?>> groups;
+        private final Object[] values;
+        private final List<String> bindingFailures;
+    }
+
+    /**
+     * 접근 순서 LinkedHashMap (LRU), 구간마다 락 하나
+     */
+    private class Segment {
+
+        private final Map<CacheKey, List<ObjectError>> entries;
+
+        Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, List<ObjectError>> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized List<ObjectError> get(CacheKey key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(CacheKey key, List<ObjectError> errors) {
+            entries.put(key, errors);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package hello.itemservice.web.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검증 결과 캐시 통계
+ */
+@RestController
+@RequiredArgsConstructor
+public class ValidationResultCacheController {
+
+    private final ValidationResultCache validationResultCache;
+
+    @GetMapping("/validation/api/validation-cache/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", validationResultCache.isEnabled());
+        stats.put("size", validationResultCache.size());
+        stats.put("hits", validationResultCache.getHits());
+        stats.put("misses", validationResultCache.getMisses());
+        stats.put("hitRate", validationResultCache.getHitRate());
+        stats.put("evictions", validationResultCache.getEvictions());
+        stats.put("invalidations", validationResultCache.getInvalidations());
+        return stats;
+    }
+}
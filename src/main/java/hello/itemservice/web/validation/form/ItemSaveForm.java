@@ -2,10 +2,10 @@ package hello.itemservice.web.validation.form;
 
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.rule.ItemPrice;
+import hello.itemservice.web.validation.rule.ItemQuantity;
 import lombok.Data;
-import org.hibernate.validator.constraints.Range;
 
-import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
@@ -16,11 +16,11 @@ public class ItemSaveForm {
     private String itemName;
 
     @NotNull
-    @Range(min = 1000, max = 1000000)
+    @ItemPrice
     private Integer price;
 
     @NotNull
-    @Max(value = 9999)
+    @ItemQuantity
     private Integer quantity;
 
 
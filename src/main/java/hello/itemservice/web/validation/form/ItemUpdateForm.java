@@ -1,10 +1,9 @@
 package hello.itemservice.web.validation.form;
 
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.rule.ItemPrice;
 import lombok.Data;
-import org.hibernate.validator.constraints.Range;
 
-import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
@@ -18,7 +17,7 @@ public class ItemUpdateForm {
     private String itemName;
 
     @NotNull
-    @Range(min = 1000, max = 1000000)
+    @ItemPrice
     private Integer price;
 
     private Integer quantity;
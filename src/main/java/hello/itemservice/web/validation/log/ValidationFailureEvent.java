@@ -0,0 +1,25 @@
+package hello.itemservice.web.validation.log;
+
+import lombok.Value;
+
+/**
+ * 검증 실패 하나 (오류 하나당 하나)
+ * 입력값은 남기지 않고 해시만 남긴다. (같은 값이 반복되는지만 알 수 있다)
+ */
+@Value
+public class ValidationFailureEvent {
+
+    long timestamp;
+    String endpoint;
+    String objectName;
+    /**
+     * 글로벌 오류면 null
+     */
+    String field;
+    /**
+     * 가장 일반적인 오류 코드 (예: NotBlank, range, typeMismatch, totalPriceMin)
+     */
+    String code;
+    int rejectedValueHash;
+    boolean bindingFailure;
+}
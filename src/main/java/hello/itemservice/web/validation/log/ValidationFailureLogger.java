@@ -0,0 +1,176 @@
+package hello.itemservice.web.validation.log;
+
+import hello.itemservice.web.abuse.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검증 실패 로그 (비동기, 샘플링, 초당 상한)
+ * 요청 스레드는 오류마다 작은 이벤트를 만들어 고정 크기 링 버퍼에 넣기만 한다. BindingResult 를 문자열로 만들지 않는다.
+ * 로그 출력은 전용 스레드가 한다. 버퍼가 가득 차면 기다리지 않고 버린다. (버린 수는 다음 출력 때 같이 남긴다)
+ *
+ * validation-log.sample-rate: 기록할 요청 비율 (0 ~ 1)
+ * validation-log.max-per-second: 초당 기록할 최대 요청 수
+ * validation-log.buffer-size: 링 버퍼 크기 (이벤트 수)
+ * 로거 이름은 validation.failure (별도 파일로 보내거나 레벨을 따로 조정할 수 있다)
+ */
+@Slf4j(topic = "validation.failure")
+@Component
+public class ValidationFailureLogger {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final double sampleRate;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final TokenBucket bucket;
+    private final BlockingQueue<ValidationFailureEvent> buffer;
+
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private Thread writer;
+    //writer 스레드만 사용: 마지막으로 로그에 남긴 생략 수
+    private long reportedDropped;
+    private long reportedRateLimited;
+
+    public ValidationFailureLogger(@Value("${validation-log.sample-rate:1.0}") double sampleRate,
+                                   @Value("${validation-log.max-per-second:100}") int maxPerSecond,
+                                   @Value("${validation-log.buffer-size:4096}") int bufferSize) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("validation-log.sample-rate 는 0 ~ 1 사이여야 합니다. sampleRate=" + sampleRate);
+        }
+        if (maxPerSecond <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("validation-log.max-per-second, validation-log.buffer-size 는 0보다 커야 합니다.");
+        }
+        this.sampleRate = sampleRate;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        this.capacityNanos = intervalNanos * maxPerSecond; //1초 분량까지 몰아서 허용
+        this.bucket = new TokenBucket(System.nanoTime());
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * 검증 실패 기록 (요청 스레드)
+     * 샘플링과 초당 상한은 요청 단위로 적용한다. (요청 하나의 오류는 모두 남기거나 모두 버린다)
+     */
+    public void record(String endpoint, Errors errors) {
+        if (!errors.hasErrors() || !log.isInfoEnabled()) {
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        if (!bucket.tryAcquire(System.nanoTime(), intervalNanos, capacityNanos)) {
+            rateLimited.increment();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (ObjectError error : errors.getAllErrors()) {
+            if (!buffer.offer(toEvent(now, endpoint, error))) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private ValidationFailureEvent toEvent(long now, String endpoint, ObjectError error) {
+        if (error instanceof FieldError) {
+            FieldError fieldError = (FieldError) error;
+            return new ValidationFailureEvent(now, endpoint, fieldError.getObjectName(), fieldError.getField(),
+                    fieldError.getCode(), Objects.hashCode(fieldError.getRejectedValue()), fieldError.isBindingFailure());
+        }
+        return new ValidationFailureEvent(now, endpoint, error.getObjectName(), null, error.getCode(), 0, false);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::writeLoop, "validation-failure-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private void writeLoop() {
+        List<ValidationFailureEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(buffer.take());
+                drainTo(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        //종료 전에 남은 이벤트를 쓴다.
+        while (drainTo(batch) > 0) {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 버퍼에 쌓인 이벤트를 꺼내서 로그로 쓴다. (writer 스레드, 테스트)
+     */
+    int drainTo(List<ValidationFailureEvent> batch) {
+        buffer.drainTo(batch, BATCH_SIZE - batch.size());
+        for (ValidationFailureEvent event : batch) {
+            log.info("endpoint={} object={} field={} code={} valueHash={} bindingFailure={}",
+                    event.getEndpoint(), event.getObjectName(), event.getField(), event.getCode(),
+                    Integer.toHexString(event.getRejectedValueHash()), event.isBindingFailure());
+        }
+        written.add(batch.size());
+
+        long droppedTotal = dropped.sum();
+        long rateLimitedTotal = rateLimited.sum();
+        if (droppedTotal != reportedDropped || rateLimitedTotal != reportedRateLimited) {
+            log.warn("검증 실패 로그 생략 dropped={} rateLimited={}",
+                    droppedTotal - reportedDropped, rateLimitedTotal - reportedRateLimited);
+            reportedDropped = droppedTotal;
+            reportedRateLimited = rateLimitedTotal;
+        }
+        return batch.size();
+    }
+
+    List<ValidationFailureEvent> pending() {
+        return new ArrayList<>(buffer);
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+}
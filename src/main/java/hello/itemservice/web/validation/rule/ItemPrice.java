@@ -0,0 +1,29 @@
+package hello.itemservice.web.validation.rule;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 가격 범위 (현재 검증 규칙의 price.min ~ price.max)
+ * 범위가 규칙 파일에서 오기 때문에 애노테이션 속성이 없다. 기본 메시지의 {min}, {max} 는 검증할 때의 규칙 값이다.
+ * 오류 코드와 메시지 인자는 @Range 와 같다. (RuleViolation)
+ * null 은 허용한다. (@NotNull 과 같이 사용)
+ */
+@Documented
+@Constraint(validatedBy = ItemPriceValidator.class)
+@Target({FIELD, METHOD, PARAMETER, ANNOTATION_TYPE})
+@Retention(RUNTIME)
+public @interface ItemPrice {
+
+    String message() default "가격은 {min} ~ {max} 까지 허용합니다.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.web.validation.rule;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.function.Supplier;
+
+/**
+ * @ItemPrice 검증기
+ * 스프링이 만들면 ItemRulesHolder 의 현재 규칙을, 스프링 밖(기본 ValidatorFactory)에서는 클래스패스 규칙 파일을 사용한다.
+ */
+public class ItemPriceValidator implements ConstraintValidator<ItemPrice, Integer> {
+
+    private final Supplier<ItemRules> rules;
+
+    public ItemPriceValidator() {
+        ItemRules defaults = ItemRulesHolder.defaults();
+        this.rules = () -> defaults;
+    }
+
+    @Autowired
+    public ItemPriceValidator(ItemRulesHolder itemRulesHolder) {
+        this.rules = itemRulesHolder::get;
+    }
+
+    @Override
+    public boolean isValid(Integer price, ConstraintValidatorContext context) {
+        if (price == null) {
+            return true;
+        }
+        ItemRules current = rules.get();
+        if (current.isPriceInRange(price)) {
+            return true;
+        }
+        context.unwrap(HibernateConstraintValidatorContext.class)
+                .addMessageParameter("min", current.getPriceMin())
+                .addMessageParameter("max", current.getPriceMax())
+                .withDynamicPayload(RuleViolation.range(current.getPriceMin(), current.getPriceMax()));
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package hello.itemservice.web.validation.rule;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 수량 최대값 (현재 검증 규칙의 quantity.max, 최대값까지 허용)
+ * 기본 메시지의 {max} 는 검증할 때의 규칙 값이다.
+ * 오류 코드와 메시지 인자는 @Max 와 같다. (RuleViolation)
+ * null 은 허용한다. (@NotNull 과 같이 사용)
+ */
+@Documented
+@Constraint(validatedBy = ItemQuantityValidator.class)
+@Target({FIELD, METHOD, PARAMETER, ANNOTATION_TYPE})
+@Retention(RUNTIME)
+public @interface ItemQuantity {
+
+    String message() default "수량은 최대 {max} 까지 허용합니다.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
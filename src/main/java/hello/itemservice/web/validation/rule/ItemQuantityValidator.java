@@ -0,0 +1,41 @@
+package hello.itemservice.web.validation.rule;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.function.Supplier;
+
+/**
+ * @ItemQuantity 검증기 (규칙을 얻는 방법은 ItemPriceValidator 와 같다)
+ */
+public class ItemQuantityValidator implements ConstraintValidator<ItemQuantity, Integer> {
+
+    private final Supplier<ItemRules> rules;
+
+    public ItemQuantityValidator() {
+        ItemRules defaults = ItemRulesHolder.defaults();
+        this.rules = () -> defaults;
+    }
+
+    @Autowired
+    public ItemQuantityValidator(ItemRulesHolder itemRulesHolder) {
+        this.rules = itemRulesHolder::get;
+    }
+
+    @Override
+    public boolean isValid(Integer quantity, ConstraintValidatorContext context) {
+        if (quantity == null) {
+            return true;
+        }
+        ItemRules current = rules.get();
+        if (current.isQuantityInRange(quantity)) {
+            return true;
+        }
+        context.unwrap(HibernateConstraintValidatorContext.class)
+                .addMessageParameter("max", current.getQuantityMax())
+                .withDynamicPayload(RuleViolation.max(current.getQuantityMax()));
+        return false;
+    }
+}
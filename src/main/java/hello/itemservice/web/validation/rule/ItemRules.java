@@ -0,0 +1,168 @@
+package hello.itemservice.web.validation.rule;
+
+import hello.itemservice.domain.item.Item;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 상품 검증 규칙 (불변)
+ * 규칙 파일(item-rules.properties)을 읽을 때 검증 객체(ItemRule) 배열로 한 번만 만들어 두고,
+ * 검증할 때는 배열을 순서대로 실행만 한다. 메시지 인자 배열도 미리 만들어 둔다.
+ *
+ * 오류 코드와 인자는 기존 ItemValidator 와 같다.
+ * required(itemName), range(price: {0}=최소, {1}=최대), max(quantity: {0}=최대), totalPriceMin({0}=최소, {1}=현재 값)
+ */
+@Getter
+public class ItemRules {
+
+    static final String ITEM_NAME_REQUIRED = "itemName.required";
+    static final String PRICE_MIN = "price.min";
+    static final String PRICE_MAX = "price.max";
+    static final String QUANTITY_MAX = "quantity.max";
+    static final String TOTAL_PRICE_MIN = "totalPrice.min";
+    private static final Set<String> KEYS = Set.of(ITEM_NAME_REQUIRED, PRICE_MIN, PRICE_MAX, QUANTITY_MAX, TOTAL_PRICE_MIN);
+
+    private final boolean itemNameRequired;
+    private final int priceMin;
+    private final int priceMax;
+    private final int quantityMax;
+    private final int totalPriceMin;
+
+    /**
+     * 메시지 인자 (공유 배열이므로 수정하지 않는다)
+     */
+    private final Object[] priceRangeArgs;
+    private final Object[] quantityMaxArgs;
+
+    @Getter(AccessLevel.NONE)
+    private final ItemRule[] rules;
+
+    public ItemRules(boolean itemNameRequired, int priceMin, int priceMax, int quantityMax, int totalPriceMin) {
+        if (priceMin < 0 || priceMin > priceMax) {
+            throw new IllegalArgumentException("가격 범위가 잘못되었습니다. " + priceMin + " ~ " + priceMax);
+        }
+        if (quantityMax < 0 || totalPriceMin < 0) {
+            throw new IllegalArgumentException("수량 최대값, 전체 가격 최소값은 0 이상이어야 합니다.");
+        }
+        this.itemNameRequired = itemNameRequired;
+        this.priceMin = priceMin;
+        this.priceMax = priceMax;
+        this.quantityMax = quantityMax;
+        this.totalPriceMin = totalPriceMin;
+        this.priceRangeArgs = new Object[]{priceMin, priceMax};
+        this.quantityMaxArgs = new Object[]{quantityMax};
+        this.rules = compile();
+    }
+
+    /**
+     * 규칙 파일 내용으로 만든다. 없는 키나 모르는 키가 있으면 IllegalArgumentException
+     */
+    public static ItemRules from(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("알 수 없는 규칙입니다. key=" + key);
+            }
+        }
+        return new ItemRules(
+                Boolean.parseBoolean(required(properties, ITEM_NAME_REQUIRED)),
+                parseInt(properties, PRICE_MIN),
+                parseInt(properties, PRICE_MAX),
+                parseInt(properties, QUANTITY_MAX),
+                parseInt(properties, TOTAL_PRICE_MIN));
+    }
+
+    private ItemRule[] compile() {
+        List<ItemRule> compiled = new ArrayList<>();
+        if (itemNameRequired) {
+            compiled.add((item, errors) -> {
+                if (!StringUtils.hasText(item.getItemName())) {
+                    errors.rejectValue("itemName", "required");
+                }
+            });
+        }
+        compiled.add((item, errors) -> {
+            if (!isPriceInRange(item.getPrice())) {
+                errors.rejectValue("price", "range", priceRangeArgs, null);
+            }
+        });
+        compiled.add((item, errors) -> {
+            if (!isQuantityInRange(item.getQuantity())) {
+                errors.rejectValue("quantity", "max", quantityMaxArgs, null);
+            }
+        });
+        compiled.add((item, errors) -> validateTotalPrice(item.getPrice(), item.getQuantity(), errors));
+        return compiled.toArray(new ItemRule[0]);
+    }
+
+    /**
+     * 모든 규칙으로 검증한다.
+     */
+    public void validate(Item item, Errors errors) {
+        for (ItemRule rule : rules) {
+            rule.validate(item, errors);
+        }
+    }
+
+    public boolean isPriceInRange(Integer price) {
+        return price != null && price >= priceMin && price <= priceMax;
+    }
+
+    /**
+     * 최대값까지 허용한다. (@Max 와 같은 의미)
+     */
+    public boolean isQuantityInRange(Integer quantity) {
+        return quantity != null && quantity <= quantityMax;
+    }
+
+    /**
+     * 특정 필드가 아닌 복합 룰 검증 (GlobalError): 가격 * 수량의 합
+     * 가격이나 수량이 없으면 검증하지 않는다. (필드 오류로 처리)
+     */
+    public void validateTotalPrice(Integer price, Integer quantity, Errors errors) {
+        if (price == null || quantity == null) {
+            return;
+        }
+        int resultPrice = price * quantity;
+        if (resultPrice < totalPriceMin) {
+            errors.reject("totalPriceMin", new Object[]{totalPriceMin, resultPrice}, null);
+        }
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("규칙이 없습니다. key=" + key);
+        }
+        return value.trim();
+    }
+
+    private static int parseInt(Properties properties, String key) {
+        String value = required(properties, key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("숫자가 아닙니다. " + key + "=" + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ItemRules(itemNameRequired=" + itemNameRequired + ", price=" + priceMin + "~" + priceMax
+                + ", quantityMax=" + quantityMax + ", totalPriceMin=" + totalPriceMin + ")";
+    }
+
+    /**
+     * 미리 만들어 둔 규칙 하나
+     */
+    @FunctionalInterface
+    interface ItemRule {
+        void validate(Item item, Errors errors);
+    }
+}
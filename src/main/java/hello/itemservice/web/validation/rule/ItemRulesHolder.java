@@ -0,0 +1,117 @@
+package hello.itemservice.web.validation.rule;
+
+import hello.itemservice.support.FileChangeWatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재 상품 검증 규칙
+ * 규칙 파일이 파일 시스템에 있으면 변경을 감지해서 재시작 없이 다시 읽고 통째로 교체한다.
+ * 잘못된 규칙 파일이면 교체하지 않고 기존 규칙을 그대로 사용한다.
+ *
+ * 검증 한 번에는 get() 으로 한 번만 읽어서 같은 규칙으로 검증해야 한다. (중간에 교체될 수 있다)
+ */
+@Slf4j
+@Component
+public class ItemRulesHolder {
+
+    private final Resource location;
+    private final boolean hotReload;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<ItemRules> rules;
+
+    private FileChangeWatcher watcher;
+
+    public ItemRulesHolder(@Value("${item-rules.location:classpath:item-rules.properties}") Resource location,
+                           @Value("${item-rules.hot-reload:true}") boolean hotReload,
+                           ApplicationEventPublisher eventPublisher) throws IOException {
+        this.location = location;
+        this.hotReload = hotReload;
+        this.eventPublisher = eventPublisher;
+        this.rules = new AtomicReference<>(load(location));
+        log.info("상품 검증 규칙 location={}, rules={}", location, rules.get());
+    }
+
+    public ItemRules get() {
+        return rules.get();
+    }
+
+    /**
+     * 규칙 파일을 다시 읽어서 교체한다.
+     * @return 교체된 규칙 (실패하면 기존 규칙)
+     */
+    public ItemRules reload() {
+        ItemRules loaded;
+        try {
+            loaded = load(location);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("검증 규칙 다시 읽기 실패, 기존 규칙 유지 location={}", location, e);
+            return rules.get();
+        }
+        rules.set(loaded);
+        log.info("검증 규칙 교체 rules={}", loaded);
+        eventPublisher.publishEvent(new ItemRulesReloadedEvent(this, loaded));
+        return loaded;
+    }
+
+    @PostConstruct
+    public void startWatching() throws IOException {
+        if (!hotReload || !location.isFile()) {
+            return;
+        }
+        Path file = location.getFile().toPath();
+        String fileName = file.getFileName().toString();
+        watcher = FileChangeWatcher.start("item-rules-watcher", List.of(file.getParent()), fileName::equals, this::reload);
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * 클래스패스 규칙 파일 (스프링 밖에서 검증할 때 사용, 처음 한 번만 읽는다)
+     */
+    public static ItemRules defaults() {
+        return Defaults.RULES;
+    }
+
+    private static ItemRules load(Resource location) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return ItemRules.from(properties);
+    }
+
+    private static class Defaults {
+
+        private static final ItemRules RULES = loadDefaults();
+
+        private static ItemRules loadDefaults() {
+            try {
+                return load(new ClassPathResource("item-rules.properties"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hello.itemservice.web.validation.rule;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 검증 규칙을 다시 읽어서 교체했을 때 발행된다.
+ */
+@Getter
+public class ItemRulesReloadedEvent extends ApplicationEvent {
+
+    private final ItemRules rules;
+
+    public ItemRulesReloadedEvent(Object source, ItemRules rules) {
+        super(source);
+        this.rules = rules;
+    }
+}
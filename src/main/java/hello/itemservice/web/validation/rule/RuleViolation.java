@@ -0,0 +1,32 @@
+package hello.itemservice.web.validation.rule;
+
+import lombok.Getter;
+
+/**
+ * 규칙 값으로 검증한 제약조건(@ItemPrice, @ItemQuantity)의 오류 코드와 메시지 인자
+ * 검증기가 ConstraintViolation 의 dynamic payload 로 넘긴다. 애노테이션에 범위 값이 없어서 인자를 애노테이션 속성으로 만들 수 없다.
+ * 코드와 인자 순서는 @Range, @Max 와 같다. (errors.properties 의 Range, Max 메시지를 그대로 쓴다)
+ * 예) Range 인자: {0}=필드명, {1}=max, {2}=min
+ */
+@Getter
+public class RuleViolation {
+
+    private final String errorCode;
+    /**
+     * 필드명({0}) 다음 인자들
+     */
+    private final Object[] arguments;
+
+    private RuleViolation(String errorCode, Object... arguments) {
+        this.errorCode = errorCode;
+        this.arguments = arguments;
+    }
+
+    public static RuleViolation range(long min, long max) {
+        return new RuleViolation("Range", max, min);
+    }
+
+    public static RuleViolation max(long max) {
+        return new RuleViolation("Max", max);
+    }
+}
@@ -0,0 +1,148 @@
+package hello.itemservice.domain.item;
+
+import hello.itemservice.domain.item.InventoryStats.InventorySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InventoryStatsTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    InventoryStats inventoryStats = new InventoryStats(itemRepository);
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void saveAndUpdate() {
+        //given
+        ItemSnapshot itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 500, 2000));
+
+        //when
+        itemRepository.update(itemA.getId(), new Item("itemA", 20000, 5));
+
+        //then
+        InventorySnapshot snapshot = inventoryStats.snapshot();
+        assertThat(snapshot.getItemCount()).isEqualTo(2);
+        assertThat(snapshot.getTotalQuantity()).isEqualTo(2005);
+        assertThat(snapshot.getTotalValue()).isEqualTo(20000L * 5 + 500L * 2000);
+        assertThat(snapshot.getPriceHistogram())
+                .containsEntry("0-999", 1L)
+                .containsEntry("10000-49999", 1L)
+                .containsEntry("5000-9999", 0L);
+        assertThat(snapshot.getQuantityHistogram())
+                .containsEntry("0-9", 1L)
+                .containsEntry("1000-9999", 1L)
+                .containsEntry("10-99", 0L);
+    }
+
+    @Test
+    void clear() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.clearStore();
+
+        //then
+        assertThat(inventoryStats.snapshot()).isEqualTo(scan(List.of()));
+    }
+
+    /**
+     * 쓰는 도중에 읽기 락 안에서 읽은 집계가 같은 시점의 전체 조회 결과와 항상 같다.
+     */
+    @Test
+    void matchesFullScanUnderConcurrentWrites() throws InterruptedException {
+        //given
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread writer = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Long> ids = new ArrayList<>();
+                while (running.get()) {
+                    if (ids.isEmpty() || random.nextBoolean()) {
+                        ids.add(itemRepository.save(randomItem(random)).getId());
+                    } else {
+                        itemRepository.update(ids.get(random.nextInt(ids.size())), randomItem(random));
+                    }
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+
+        //when
+        try {
+            for (int i = 0; i < 50; i++) {
+                InventorySnapshot[] pair = itemRepository.withReadLock(
+                        () -> new InventorySnapshot[]{inventoryStats.snapshot(), scan(itemRepository.findAll())});
+
+                //then
+                assertThat(pair[0]).isEqualTo(pair[1]);
+            }
+        } finally {
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        assertThat(inventoryStats.snapshot()).isEqualTo(scan(itemRepository.findAll()));
+    }
+
+    private Item randomItem(ThreadLocalRandom random) {
+        Integer price = random.nextInt(10) == 0 ? null : random.nextInt(2_000_000);
+        return new Item("item", price, random.nextInt(20_000));
+    }
+
+    /**
+     * 전체 상품을 훑어서 계산한 집계 (비교용)
+     */
+    private InventorySnapshot scan(Collection<ItemSnapshot> items) {
+        long totalQuantity = 0;
+        long totalValue = 0;
+        Map<String, Long> priceHistogram = emptyHistogram(InventoryStats.PRICE_BOUNDS);
+        Map<String, Long> quantityHistogram = emptyHistogram(InventoryStats.QUANTITY_BOUNDS);
+        for (ItemSnapshot item : items) {
+            long price = item.getPrice() == null ? 0 : item.getPrice();
+            long quantity = item.getQuantity() == null ? 0 : item.getQuantity();
+            totalQuantity += quantity;
+            totalValue += price * quantity;
+            priceHistogram.merge(bucket(InventoryStats.PRICE_BOUNDS, item.getPrice()), 1L, Long::sum);
+            quantityHistogram.merge(bucket(InventoryStats.QUANTITY_BOUNDS, item.getQuantity()), 1L, Long::sum);
+        }
+        return new InventorySnapshot(items.size(), totalQuantity, totalValue, priceHistogram, quantityHistogram);
+    }
+
+    private Map<String, Long> emptyHistogram(long[] bounds) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < bounds.length; i++) {
+            histogram.put(InventoryStats.Histogram.label(bounds, i), 0L);
+        }
+        histogram.put(InventoryStats.Histogram.NONE, 0L);
+        return histogram;
+    }
+
+    private String bucket(long[] bounds, Integer value) {
+        if (value == null) {
+            return InventoryStats.Histogram.NONE;
+        }
+        int index = 0;
+        while (index + 1 < bounds.length && value >= bounds[index + 1]) {
+            index++;
+        }
+        return InventoryStats.Histogram.label(bounds, index);
+    }
+}
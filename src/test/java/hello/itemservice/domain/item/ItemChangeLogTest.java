@@ -0,0 +1,118 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemChangeLogTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemChangeLog itemChangeLog = new ItemChangeLog(itemRepository);
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void saveAndUpdateInOrder() {
+        //given
+        ItemSnapshot item = itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.update(item.getId(), new Item("item2", 20000, 20));
+
+        //when
+        ItemChangeLog.ChangeBatch batch = itemChangeLog.readAfter(0, 100);
+
+        //then
+        List<ItemChangeEvent> events = batch.getEvents();
+        assertThat(events).extracting(ItemChangeEvent::getSequence).containsExactly(1L, 2L);
+        assertThat(events).extracting(ItemChangeEvent::getType).containsExactly(ItemChangeType.SAVE, ItemChangeType.UPDATE);
+        assertThat(events.get(0).getItemName()).isEqualTo("item1"); //저장 시점의 값
+        assertThat(events.get(1).getItemName()).isEqualTo("item2");
+        assertThat(batch.getLastSequence()).isEqualTo(2L);
+        assertThat(batch.isTruncated()).isFalse();
+    }
+
+    @Test
+    void resumeFromSequence() {
+        //given
+        itemRepository.saveAll(List.of(new Item("item1", 10000, 10), new Item("item2", 20000, 20)));
+        ItemSnapshot item3 = itemRepository.save(new Item("item3", 30000, 30));
+        itemRepository.updateAll(Map.of(item3.getId(), new Item("item3", 31000, 31)));
+
+        //when
+        ItemChangeLog.ChangeBatch batch = itemChangeLog.readAfter(2, 100);
+
+        //then
+        assertThat(batch.getEvents()).extracting(ItemChangeEvent::getSequence).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void truncatedWhenOverwritten() {
+        //given
+        for (int i = 0; i < ItemChangeLog.CAPACITY + 10; i++) {
+            itemRepository.save(new Item("item", 10000, 10));
+        }
+
+        //when
+        ItemChangeLog.ChangeBatch batch = itemChangeLog.readAfter(0, 5);
+
+        //then
+        assertThat(batch.isTruncated()).isTrue();
+        assertThat(batch.getEvents().get(0).getSequence()).isEqualTo(11L);
+    }
+
+    @Test
+    void waiterNotified() {
+        //given
+        AtomicInteger called = new AtomicInteger();
+        itemChangeLog.addWaiter(0, called::incrementAndGet);
+
+        //when
+        itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.save(new Item("item2", 10000, 10));
+
+        //then
+        assertThat(called.get()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterNotifiedAfterItsSequence() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+        AtomicInteger late = new AtomicInteger();
+        AtomicInteger ahead = new AtomicInteger();
+        itemChangeLog.addWaiter(0, late::incrementAndGet); //이미 공개됨
+        itemChangeLog.addWaiter(1, ahead::incrementAndGet);
+        assertThat(late.get()).isEqualTo(1);
+        assertThat(ahead.get()).isZero();
+
+        //when
+        itemRepository.save(new Item("item2", 10000, 10));
+
+        //then
+        assertThat(ahead.get()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterCalledOutsideRepositoryLock() {
+        //given 다른 스레드에서 전체 조회(모든 구간의 읽기 락)를 기다린다.
+        AtomicBoolean readable = new AtomicBoolean();
+        itemChangeLog.addWaiter(0, () -> readable.set(CompletableFuture.supplyAsync(itemRepository::findAll)
+                .completeOnTimeout(null, 1, TimeUnit.SECONDS).join() != null));
+
+        //when
+        itemRepository.save(new Item("item1", 10000, 10));
+
+        //then 저장한 스레드가 쓰기 락을 잡고 있었다면 조회가 끝나지 않는다.
+        assertThat(readable.get()).isTrue();
+    }
+}
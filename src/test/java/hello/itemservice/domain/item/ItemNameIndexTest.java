@@ -0,0 +1,222 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemNameIndexTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemNameIndex itemNameIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        itemNameIndex = new ItemNameIndex(itemRepository);
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void search() {
+        //given
+        ItemSnapshot keyboard = itemRepository.save(new Item("Wireless Keyboard", 30000, 10));
+        ItemSnapshot mouse = itemRepository.save(new Item("Wireless Mouse", 20000, 10));
+        itemRepository.save(new Item("Monitor", 200000, 5));
+
+        //when
+        List<ItemSnapshot> result = itemNameIndex.search("wireless", 10);
+
+        //then
+        assertThat(result).containsExactly(keyboard, mouse);
+    }
+
+    @Test
+    void rankByMatchCount() {
+        //given
+        ItemSnapshot partial = itemRepository.save(new Item("keyboard cover", 5000, 10));
+        ItemSnapshot exact = itemRepository.save(new Item("mechanical keyboard", 90000, 10));
+
+        //when
+        List<ItemSnapshot> result = itemNameIndex.search("mechanical keyboard", 10);
+
+        //then
+        assertThat(result).containsExactly(exact, partial);
+    }
+
+    @Test
+    void toleratesTypo() {
+        //given
+        ItemSnapshot keyboard = itemRepository.save(new Item("keyboard", 30000, 10));
+
+        //when
+        List<ItemSnapshot> result = itemNameIndex.search("keybaord", 10);
+
+        //then
+        assertThat(result).containsExactly(keyboard);
+    }
+
+    @Test
+    void updateReplacesName() {
+        //given
+        ItemSnapshot item = itemRepository.save(new Item("keyboard", 30000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("monitor", 30000, 10));
+
+        //then
+        assertThat(itemNameIndex.search("keyboard", 10)).isEmpty();
+        assertThat(itemNameIndex.search("monitor", 10)).extracting("id").containsExactly(item.getId());
+    }
+
+    @Test
+    void indexesExistingItems() {
+        //given
+        ItemSnapshot keyboard = itemRepository.save(new Item("keyboard", 30000, 10));
+
+        //when
+        ItemNameIndex newIndex = new ItemNameIndex(itemRepository);
+
+        //then
+        assertThat(newIndex.search("keyboard", 10)).containsExactly(keyboard);
+    }
+
+    @Test
+    void shortQueryFallsBackToContains() {
+        //given
+        ItemSnapshot itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 10));
+
+        //when
+        List<ItemSnapshot> result = itemNameIndex.search("mA", 10);
+
+        //then
+        assertThat(result).containsExactly(itemA);
+    }
+
+    @Test
+    void limit() {
+        //given
+        for (int i = 0; i < 10; i++) {
+            itemRepository.save(new Item("keyboard " + i, 30000, 10));
+        }
+
+        //when
+        List<ItemSnapshot> result = itemNameIndex.search("keyboard", 3);
+
+        //then
+        assertThat(result).extracting("itemName").containsExactly("keyboard 0", "keyboard 1", "keyboard 2");
+    }
+
+    @Test
+    void concurrentWritesAndSearches() throws Exception {
+        //given 스레드마다 다른 상품명으로 저장하고 일부는 이름을 바꾸면서 검색한다.
+        int threadCount = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ItemSnapshot saved = itemRepository.save(new Item("keyboard" + thread + " no" + i, 30000, 10));
+                    if (i % 2 == 0) {
+                        itemRepository.update(saved.getId(), new Item("monitor" + thread + " no" + i, 30000, 10));
+                    }
+                    itemNameIndex.search("keyboard" + thread, 10);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //then 바꾼 이름만 남는다.
+        assertThat(itemNameIndex.getDocCount()).isEqualTo(threadCount * perThread);
+        assertThat(itemNameIndex.search("monitor3 no10", 1)).extracting("itemName").containsExactly("monitor3 no10");
+        assertThat(itemNameIndex.search("keyboard3 no11", 1)).extracting("itemName").containsExactly("keyboard3 no11");
+        assertThat(itemNameIndex.search("keyboard3 no10", 1)).extracting("itemName").doesNotContain("keyboard3 no10");
+    }
+
+    @Test
+    void clear() {
+        //given
+        itemRepository.save(new Item("keyboard", 30000, 10));
+
+        //when
+        itemRepository.clearStore();
+
+        //then
+        assertThat(itemNameIndex.search("keyboard", 10)).isEmpty();
+        assertThat(itemNameIndex.getDocCount()).isZero();
+    }
+
+    /**
+     * 상품 100만 개 색인
+     * - 검색 지연: 흔한 단어 / 드문 단어 / 오타
+     * - 색인 메모리: 추정치와 GC 후 힙 사용량 차이
+     */
+    @Tag("benchmark")
+    @Test
+    void searchAtOneMillionItems() {
+        String[] words = {"wireless", "keyboard", "mouse", "monitor", "cable", "stand", "speaker", "webcam",
+                "headset", "charger", "adapter", "laptop", "tablet", "phone", "case", "cover", "mechanical", "gaming",
+                "office", "portable", "ultra", "slim", "pro", "mini", "max", "black", "white", "silver"};
+        Random random = new Random(42);
+        int total = 1_000_000;
+        List<Item> items = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            items.add(new Item(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + words[random.nextInt(words.length)] + " " + i, 10000, 10));
+        }
+
+        long heapBefore = usedHeap();
+        for (int i = 0; i < total; i += 10_000) {
+            itemRepository.saveAll(items.subList(i, i + 10_000));
+        }
+        long heapAfterItems = usedHeap();
+        ItemNameIndex index = new ItemNameIndex(itemRepository); //저장된 상품을 한 번에 색인
+        long heapAfterIndex = usedHeap();
+        System.out.printf("index docs=%,d grams=%,d  estimated=%,d KB  heap delta=%,d KB (items + live index=%,d KB)%n",
+                index.getDocCount(), index.getGramCount(), index.estimateMemoryBytes() / 1024,
+                (heapAfterIndex - heapAfterItems) / 1024, (heapAfterItems - heapBefore) / 1024);
+
+        for (String query : new String[]{"keyboard", "mechanical keyboard", "keybaord", "webcam 99999", "zzz"}) {
+            long[] nanos = new long[200];
+            for (int round = 0; round < nanos.length; round++) {
+                long start = System.nanoTime();
+                index.search(query, ItemNameIndex.DEFAULT_LIMIT);
+                nanos[round] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("search '%s'  results=%d  p50=%,d us  p99=%,d us%n", query,
+                    index.search(query, ItemNameIndex.DEFAULT_LIMIT).size(),
+                    nanos[nanos.length / 2] / 1000, nanos[nanos.length * 99 / 100] / 1000);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,9 +1,22 @@
 package hello.itemservice.domain.item;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -22,10 +35,10 @@ class ItemRepositoryTest {
         Item item = new Item("itemA", 10000, 10);
 
         //when
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
 
         //then
-        Item findItem = itemRepository.findById(item.getId());
+        ItemSnapshot findItem = itemRepository.findById(savedItem.getId());
         assertThat(findItem).isEqualTo(savedItem);
     }
 
@@ -35,15 +48,15 @@ class ItemRepositoryTest {
         Item item1 = new Item("item1", 10000, 10);
         Item item2 = new Item("item2", 20000, 20);
 
-        itemRepository.save(item1);
-        itemRepository.save(item2);
+        ItemSnapshot savedItem1 = itemRepository.save(item1);
+        ItemSnapshot savedItem2 = itemRepository.save(item2);
 
         //when
-        List<Item> result = itemRepository.findAll();
+        List<ItemSnapshot> result = itemRepository.findAll();
 
         //then
         assertThat(result.size()).isEqualTo(2);
-        assertThat(result).contains(item1, item2);
+        assertThat(result).contains(savedItem1, savedItem2);
     }
 
     @Test
@@ -51,18 +64,371 @@ class ItemRepositoryTest {
         //given
         Item item = new Item("item1", 10000, 10);
 
-        Item savedItem = itemRepository.save(item);
+        ItemSnapshot savedItem = itemRepository.save(item);
         Long itemId = savedItem.getId();
 
         //when
         Item updateParam = new Item("item2", 20000, 30);
         itemRepository.update(itemId, updateParam);
 
-        Item findItem = itemRepository.findById(itemId);
+        ItemSnapshot findItem = itemRepository.findById(itemId);
 
         //then
         assertThat(findItem.getItemName()).isEqualTo(updateParam.getItemName());
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void saveAll() {
+        //given
+        List<Item> items = List.of(new Item("item1", 10000, 10), new Item("item2", 20000, 20));
+
+        //when
+        List<ItemSnapshot> savedItems = itemRepository.saveAll(items);
+
+        //then
+        assertThat(savedItems.get(1).getId()).isEqualTo(savedItems.get(0).getId() + 1);
+        assertThat(itemRepository.findAll()).containsExactlyInAnyOrderElementsOf(savedItems);
+    }
+
+    @Test
+    void saveAllReservesIdsInBlocks() {
+        //given 한 번에 4096개까지 예약하는 생성기, 시계는 멈춰 있다.
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(1, clock::get);
+        ItemRepository repository = new ItemRepository(generator);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        List<ItemSnapshot> savedItems = repository.saveAll(items);
+
+        //then 블록 안에서는 ID 가 연속이고, 두 번째 블록은 다음 ms 에서 시작한다.
+        for (int i = 1; i < savedItems.size(); i++) {
+            long prev = savedItems.get(i - 1).getId();
+            long id = savedItems.get(i).getId();
+            if (i == generator.maxBlockSize()) {
+                assertThat(SnowflakeItemIdGenerator.timestampOf(id)).isEqualTo(clock.get() + 1);
+            } else {
+                assertThat(id).isEqualTo(prev + 1);
+            }
+        }
+        assertThat(repository.size()).isEqualTo(5000);
+    }
+
+    @Test
+    void findAllById() {
+        //given
+        ItemSnapshot item1 = itemRepository.save(new Item("item1", 10000, 10));
+        ItemSnapshot item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        List<ItemSnapshot> result = itemRepository.findAllById(List.of(item2.getId(), -1L, item1.getId()));
+
+        //then
+        assertThat(result).containsExactly(item2, item1);
+    }
+
+    @Test
+    void iterateAfter() {
+        //given
+        ItemSnapshot item1 = itemRepository.save(new Item("item1", 10000, 10));
+        ItemSnapshot item2 = itemRepository.save(new Item("item2", 20000, 20));
+        ItemSnapshot item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        List<ItemSnapshot> all = new ArrayList<>();
+        itemRepository.iterateAfter(0).forEachRemaining(all::add);
+        List<ItemSnapshot> rest = new ArrayList<>();
+        itemRepository.iterateAfter(item1.getId()).forEachRemaining(rest::add);
+
+        //then
+        assertThat(all).containsExactly(item1, item2, item3);
+        assertThat(rest).containsExactly(item2, item3);
+        assertThat(itemRepository.iterateAfter(item3.getId()).hasNext()).isFalse();
+    }
+
+    @Test
+    void iterateAfterResumesWithoutMissingConcurrentSaves() throws Exception {
+        assertResumesWithoutMissing(itemRepository);
+    }
+
+    @Test
+    void iterateAfterResumesWithSnowflakeIds() throws Exception {
+        //Snowflake ID 는 발급 순서가 저장 순서와 다르고, 블록이 ms 를 건너뛸 수 있다.
+        assertResumesWithoutMissing(new ItemRepository(new SnowflakeItemIdGenerator(1)));
+    }
+
+    void assertResumesWithoutMissing(ItemRepository itemRepository) throws Exception {
+        //given 여러 스레드가 저장하는 동안 마지막으로 받은 ID 로 계속 이어 읽는다.
+        int threadCount = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    if (i % 10 == 0) {
+                        itemRepository.saveAll(List.of(new Item("batch", 10000, 10), new Item("batch", 10000, 10)))
+                                .forEach(saved -> ids.add(saved.getId()));
+                    } else {
+                        ids.add(itemRepository.save(new Item("item" + thread, 10000, 10)).getId());
+                    }
+                }
+                return ids;
+            }));
+        }
+
+        //when
+        start.countDown();
+        List<Long> read = new ArrayList<>();
+        long afterId = 0;
+        boolean done = false;
+        while (!done) {
+            done = futures.stream().allMatch(Future::isDone); //마지막 한 번은 저장이 모두 끝난 뒤에 읽는다.
+            Iterator<ItemSnapshot> iterator = itemRepository.iterateAfter(afterId);
+            while (iterator.hasNext()) {
+                afterId = iterator.next().getId();
+                read.add(afterId);
+            }
+        }
+        executor.shutdown();
+
+        //then 저장한 상품을 빠짐없이, 한 번씩 ID 순서로 읽는다.
+        List<Long> saved = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            saved.addAll(future.get());
+        }
+        saved.sort(Comparator.naturalOrder());
+        assertThat(read).isEqualTo(saved);
+    }
+
+    @Test
+    void updateAll() {
+        //given
+        ItemSnapshot item1 = itemRepository.save(new Item("item1", 10000, 10));
+        ItemSnapshot item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        itemRepository.updateAll(Map.of(
+                item1.getId(), new Item("itemA", 11000, 11),
+                item2.getId(), new Item("itemB", 22000, 22)));
+
+        //then
+        assertThat(itemRepository.findById(item1.getId()).getItemName()).isEqualTo("itemA");
+        assertThat(itemRepository.findById(item2.getId()).getQuantity()).isEqualTo(22);
+    }
+
+    @Test
+    void updateAllIsAtomic() {
+        //given
+        ItemSnapshot item1 = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        Map<Long, Item> updateParams = new LinkedHashMap<>();
+        updateParams.put(item1.getId(), new Item("itemA", 11000, 11));
+        updateParams.put(-1L, new Item("itemB", 22000, 22));
+
+        //then
+        assertThatThrownBy(() -> itemRepository.updateAll(updateParams))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(itemRepository.findById(item1.getId()).getItemName()).isEqualTo("item1");
+    }
+
+    @Test
+    void readsShareStoredSnapshot() {
+        //given
+        Item item = new Item("item1", 10000, 10);
+        ItemSnapshot savedItem = itemRepository.save(item);
+
+        //when
+        item.setItemName("changed"); //바인딩 객체를 바꿔도 저장소에는 영향이 없다.
+
+        //then - 조회는 복사 없이 같은 인스턴스
+        assertThat(itemRepository.findById(savedItem.getId())).isSameAs(savedItem);
+        assertThat(itemRepository.findAll()).containsExactly(savedItem);
+        assertThat(savedItem.getItemName()).isEqualTo("item1");
+    }
+
+    @Test
+    void updateDoesNotChangeReadSnapshot() {
+        //given
+        ItemSnapshot savedItem = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("item2", 20000, 20));
+
+        //then
+        assertThat(savedItem.getItemName()).isEqualTo("item1");
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item2");
+    }
+
+    @Test
+    void concurrentReadsSeeWholeSnapshot() throws InterruptedException {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 1000, 1)).getId();
+        AtomicBoolean torn = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                ItemSnapshot item = itemRepository.findById(itemId);
+                //수정할 때 항상 이름, 가격, 수량을 같은 n 으로 맞춘다.
+                int n = item.getQuantity();
+                if (!item.getItemName().equals("item" + n) || item.getPrice() != n * 1000) {
+                    torn.set(true);
+                }
+            }
+        });
+        reader.start();
+
+        //when
+        for (int n = 2; n < 100_000; n++) {
+            itemRepository.update(itemId, new Item("item" + n, n * 1000, n));
+        }
+        running.set(false);
+        reader.join();
+
+        //then
+        assertThat(torn.get()).isFalse();
+    }
+
+    @Test
+    void findAllWithFilterInIdOrder() {
+        //given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) { //병렬 조회 기준보다 많이
+            items.add(new Item("item" + i, 1000 + i, 1));
+        }
+        itemRepository.saveAll(items);
+
+        //when
+        List<ItemSnapshot> all = itemRepository.findAll();
+        List<ItemSnapshot> even = itemRepository.findAll(item -> item.getPrice() % 2 == 0);
+
+        //then
+        assertThat(all).hasSize(20_000).isSortedAccordingTo(Comparator.comparing(ItemSnapshot::getId));
+        assertThat(even).hasSize(10_000).isSortedAccordingTo(Comparator.comparing(ItemSnapshot::getId))
+                .allMatch(item -> item.getPrice() % 2 == 0);
+    }
+
+    /**
+     * 배치 저장은 여러 구간에 걸쳐도 원자적이다. 전체 조회는 배치의 일부만 보지 않는다.
+     */
+    @Test
+    void findAllSeesWholeBatches() throws InterruptedException {
+        //given
+        int batchSize = 100;
+        AtomicBoolean partial = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (itemRepository.findAll().size() % batchSize != 0) {
+                    partial.set(true);
+                }
+            }
+        });
+        reader.start();
+
+        //when
+        for (int i = 0; i < 200; i++) {
+            List<Item> batch = new ArrayList<>(batchSize);
+            for (int j = 0; j < batchSize; j++) {
+                batch.add(new Item("item", 10000, 10));
+            }
+            itemRepository.saveAll(batch);
+        }
+        running.set(false);
+        reader.join();
+
+        //then
+        assertThat(partial.get()).isFalse();
+        assertThat(itemRepository.size()).isEqualTo(200 * batchSize);
+    }
+
+    /**
+     * 스레드 수를 1부터 코어 수까지 늘리면서
+     * - 저장 처리량: 스레드마다 save() 를 반복
+     * - 전체 조회 지연: 병렬도를 스레드 수로 제한한 ForkJoinPool 안에서 findAll(), findAll(filter)
+     */
+    @Tag("benchmark")
+    @Test
+    void shardedWriteAndScanScaling() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int savesPerRound = 1_000_000;
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        for (int threads : threadCounts) {
+            itemRepository.clearStore();
+            int perThread = savesPerRound / threads;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        itemRepository.save(new Item("item", 1000 + i % 1000, i % 100));
+                    }
+                    return null;
+                }));
+            }
+            long writeStart = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long writeNanos = System.nanoTime() - writeStart;
+            executor.shutdown();
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long scanNanos = Long.MAX_VALUE;
+            long filterNanos = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long scanStart = System.nanoTime();
+                pool.submit(() -> itemRepository.findAll()).get();
+                scanNanos = Math.min(scanNanos, System.nanoTime() - scanStart);
+
+                long filterStart = System.nanoTime();
+                pool.submit(() -> itemRepository.findAll(item -> item.getQuantity() == 7)).get();
+                filterNanos = Math.min(filterNanos, System.nanoTime() - filterStart);
+            }
+            pool.shutdown();
+
+            System.out.printf("threads=%2d  save %,12d items/s  findAll %,6d ms  findAll(filter) %,6d ms%n", threads,
+                    (long) perThread * threads * 1_000_000_000L / writeNanos, scanNanos / 1_000_000, filterNanos / 1_000_000);
+        }
+    }
+
+    @Tag("benchmark")
+    @Test
+    void saveAllThroughput() {
+        int total = 1_000_000;
+        for (int batchSize : new int[]{1, 100, 10_000}) {
+            for (int round = 0; round < 3; round++) {
+                itemRepository.clearStore();
+                long start = System.nanoTime();
+                for (int i = 0; i < total; i += batchSize) {
+                    List<Item> batch = new ArrayList<>(batchSize);
+                    for (int j = 0; j < batchSize; j++) {
+                        batch.add(new Item("item", 10000, 10));
+                    }
+                    itemRepository.saveAll(batch);
+                }
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("saveAll batchSize=%,d  %,d items/s%n", batchSize, total * 1_000_000_000L / elapsed);
+            }
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SnowflakeItemIdGeneratorTest {
+
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        //given
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(7);
+        int threadCount = 8;
+        int perThread = 200_000;
+        long[][] generated = new long[threadCount][perThread];
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            long[] ids = generated[t];
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then 스레드마다 증가하고, 전체에서 겹치지 않는다.
+        long[] all = new long[threadCount * perThread];
+        for (int t = 0; t < threadCount; t++) {
+            for (int i = 1; i < perThread; i++) {
+                assertThat(generated[t][i]).isGreaterThan(generated[t][i - 1]);
+            }
+            System.arraycopy(generated[t], 0, all, t * perThread, perThread);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).isNotEqualTo(all[i - 1]);
+        }
+        assertThat(SnowflakeItemIdGenerator.nodeOf(all[0])).isEqualTo(7);
+    }
+
+    @Test
+    void differentNodes() {
+        //given
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator node1 = new SnowflakeItemIdGenerator(1, clock::get);
+        SnowflakeItemIdGenerator node2 = new SnowflakeItemIdGenerator(2, clock::get);
+
+        //when
+        long id1 = node1.nextId();
+        long id2 = node2.nextId();
+
+        //then 같은 시각, 같은 순번이어도 노드가 달라서 겹치지 않는다.
+        assertThat(id1).isNotEqualTo(id2);
+        assertThat(SnowflakeItemIdGenerator.timestampOf(id1)).isEqualTo(clock.get());
+        assertThat(SnowflakeItemIdGenerator.nodeOf(id2)).isEqualTo(2);
+    }
+
+    @Test
+    void clockRegression() {
+        //given
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(1, clock::get);
+        long before = generator.nextId();
+
+        //when 시계가 10초 뒤로 간다.
+        clock.addAndGet(-10_000);
+        long afterRegression = generator.nextId();
+        clock.addAndGet(20_000);
+        long afterRecovery = generator.nextId();
+
+        //then 마지막 시각에서 이어서 발급하고, 시계가 따라잡으면 다시 시계를 따른다.
+        assertThat(afterRegression).isGreaterThan(before);
+        assertThat(SnowflakeItemIdGenerator.timestampOf(afterRegression)).isEqualTo(SnowflakeItemIdGenerator.timestampOf(before));
+        assertThat(afterRecovery).isGreaterThan(afterRegression);
+        assertThat(SnowflakeItemIdGenerator.timestampOf(afterRecovery)).isEqualTo(clock.get());
+        assertThat(generator.getAheadOfClock()).isEqualTo(1);
+    }
+
+    @Test
+    void lastId() {
+        //given
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(1, clock::get);
+        assertThat(generator.lastId()).isZero();
+
+        //when
+        long id = generator.nextId();
+        long first = generator.nextIds(3);
+
+        //then 마지막으로 예약한 블록의 끝
+        assertThat(first).isGreaterThan(id);
+        assertThat(generator.lastId()).isEqualTo(first + 2);
+        assertThat(generator.nextId()).isGreaterThan(first + 2);
+    }
+
+    @Test
+    void sequenceOverflow() {
+        //given 시계가 멈춰 있다.
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(1, clock::get);
+
+        //when 한 ms 에 4096개를 넘게 발급
+        long last = 0;
+        for (int i = 0; i < 4097; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        //then 다음 ms 로 넘어간다.
+        assertThat(SnowflakeItemIdGenerator.timestampOf(last)).isEqualTo(clock.get() + 1);
+        assertThat(SnowflakeItemIdGenerator.nodeOf(last)).isEqualTo(1);
+    }
+
+    @Test
+    void nextIdsReservesContiguousRange() {
+        //given 시계가 멈춰 있고, 현재 ms 의 순번이 5개만 남았다.
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        SnowflakeItemIdGenerator generator = new SnowflakeItemIdGenerator(1, clock::get);
+        long first = generator.nextIds(4086);
+        long second = generator.nextIds(5);
+
+        //when 남은 순번보다 많이 예약
+        long third = generator.nextIds(100);
+        long next = generator.nextId();
+
+        //then 같은 ms 에서 이어지고, 모자라면 다음 ms 의 순번 0부터 시작한다.
+        assertThat(second).isEqualTo(first + 4086);
+        assertThat(SnowflakeItemIdGenerator.timestampOf(third)).isEqualTo(clock.get() + 1);
+        assertThat(third & ((1 << SnowflakeItemIdGenerator.SEQUENCE_BITS) - 1)).isZero();
+        assertThat(next).isEqualTo(third + 100);
+        assertThatThrownBy(() -> generator.nextIds(generator.maxBlockSize() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidNodeId() {
+        assertThatThrownBy(() -> new SnowflakeItemIdGenerator(SnowflakeItemIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package hello.itemservice.importer;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
+import hello.itemservice.web.validation.ConstraintPlanCache;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.ValidationResultCache;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemImporterTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemImporter itemImporter;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void init() throws Exception {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ItemPropertyValidator itemPropertyValidator = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator));
+        ItemRulesHolder itemRulesHolder = new ItemRulesHolder(new ClassPathResource("item-rules.properties"), false, event -> {});
+        itemImporter = new ItemImporter(itemRepository, itemPropertyValidator, itemRulesHolder);
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        //given
+        Path file = write("items.csv",
+                "itemName,price,quantity",
+                "itemA,10000,10",
+                "\"item, \"\"B\"\"\",20000,20",
+                " ,10000,10",
+                "itemC,abc,10",
+                "itemD,1000,1",
+                "itemE,10000",
+                "",
+                "itemF, 5000 ,5\r");
+
+        //when
+        ImportResult result = itemImporter.importFile(file);
+
+        //then
+        assertThat(result.getTotalRows()).isEqualTo(7);
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getRejectedRows()).isEqualTo(4);
+        assertThat(itemRepository.findAll()).extracting(ItemSnapshot::getItemName)
+                .containsExactlyInAnyOrder("itemA", "item, \"B\"", "itemF");
+
+        assertThat(rejected(result)).containsExactly(
+                "4=[itemName:NotBlank]",
+                "5=[price:typeMismatch]",
+                "6=[totalPriceMin]",
+                "7=[format:columns]");
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        //given
+        Path file = write("items.ndjson",
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}",
+                "{\"itemName\":\"item\\\"B\\u0041\", \"price\":\"20000\", \"quantity\":20, \"extra\":true}",
+                "{\"itemName\":\"itemC\",\"price\":999,\"quantity\":null}",
+                "{\"itemName\":\"itemD\",\"price\":10000,\"quantity\":[1]}",
+                "{\"itemName\":\"itemE\",\"price\":10000,\"quantity\":10000}");
+
+        //when
+        ImportResult result = itemImporter.importFile(file);
+
+        //then
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(itemRepository.findAll()).extracting(ItemSnapshot::getItemName)
+                .containsExactlyInAnyOrder("itemA", "item\"BA");
+        assertThat(rejected(result)).containsExactly(
+                "3=[price:Range, quantity:NotNull]",
+                "4=[format:json]",
+                "5=[quantity:Max]");
+    }
+
+    @Test
+    void importDoesNotFillValidationCache() throws Exception {
+        //given 결과 캐시를 켠 검증기
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ValidationResultCache resultCache = new ValidationResultCache(true, 1000);
+        ItemPropertyValidator itemPropertyValidator = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator), resultCache);
+        ItemRulesHolder itemRulesHolder = new ItemRulesHolder(new ClassPathResource("item-rules.properties"), false, event -> {});
+        ItemImporter importer = new ItemImporter(itemRepository, itemPropertyValidator, itemRulesHolder);
+        Path file = write("items.csv", "itemName,price,quantity", "itemA,10000,10", " ,10000,10");
+
+        //when
+        ImportResult result = importer.importFile(file);
+
+        //then
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).isEqualTo(1);
+        assertThat(resultCache.size()).isZero();
+        assertThat(resultCache.getMisses()).isZero();
+    }
+
+    @Test
+    void unsupportedFile() throws Exception {
+        Path file = write("items.txt", "itemA,10000,10");
+        assertThatThrownBy(() -> itemImporter.importFile(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 대량 가져오기 처리량, 최대 힙 사용량
+     */
+    @Tag("benchmark")
+    @Test
+    void importMillionRows() throws Exception {
+        Path file = directory.resolve("million.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("itemName,price,quantity\n");
+            for (int i = 0; i < 1_000_000; i++) {
+                writer.write("item" + i + "," + (1000 + i % 999000) + "," + (10 + i % 9000) + "\n");
+            }
+        }
+
+        ImportResult result = itemImporter.importFile(file);
+
+        System.out.println(result);
+        assertThat(result.getImportedRows()).isEqualTo(1_000_000);
+    }
+
+    List<String> rejected(ImportResult result) {
+        return result.getRejected().stream()
+                .map(row -> row.getLine() + "=" + row.getErrors().stream().sorted().collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    Path write(String name, String... lines) throws Exception {
+        Path file = directory.resolve(name);
+        Files.writeString(file, String.join("\n", lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
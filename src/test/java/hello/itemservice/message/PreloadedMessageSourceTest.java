@@ -0,0 +1,97 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.LocaleResolver;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PreloadedMessageSourceTest {
+
+    PreloadedMessageSource messageSource;
+    ResourceBundleMessageSource resourceBundleMessageSource;
+
+    @BeforeEach
+    void init() throws Exception {
+        messageSource = new PreloadedMessageSource(List.of("messages", "errors"), true, false);
+        messageSource.afterPropertiesSet();
+
+        resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("messages", "errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+    }
+
+    @Test
+    void availableLocales() {
+        assertThat(messageSource.getAvailableLocales()).contains(Locale.ENGLISH);
+    }
+
+    @Test
+    void sameMessagesAsResourceBundleMessageSource() {
+        List<String> codes = List.of("hello", "label.item.price", "page.addItem", "button.save",
+                "required.item.itemName", "range.item.price", "max.item.quantity", "totalPriceMin",
+                "typeMismatch", "Range", "Max", "NotBlank");
+        List<Locale> locales = List.of(Locale.KOREA, Locale.KOREAN, Locale.ENGLISH, Locale.US,
+                Locale.FRANCE, Locale.ROOT);
+        Object[] args = {"가격", 1000000, 1000};
+
+        for (Locale locale : locales) {
+            for (String code : codes) {
+                //when
+                String expected = resourceBundleMessageSource.getMessage(code, args, "none", locale);
+                String actual = messageSource.getMessage(code, args, "none", locale);
+
+                //then
+                assertThat(actual).as("%s %s", locale, code).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void unsupportedLocalesShareMessages() {
+        //given
+        int before = messageSource.getCachedLocaleCount();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            Locale locale = new Locale("x" + i, "Y" + i % 10);
+            assertThat(messageSource.getMessage("totalPriceMin", new Object[]{10000, 500}, locale))
+                    .isEqualTo(messageSource.getMessage("totalPriceMin", new Object[]{10000, 500}, Locale.ROOT));
+        }
+
+        //then
+        assertThat(messageSource.getCachedLocaleCount()).isEqualTo(before);
+    }
+
+    @Test
+    void unsupportedAcceptLanguageFallsBackToSystemLocale() {
+        //given
+        LocaleResolver localeResolver = new MessageConfig().localeResolver(messageSource);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "xx-YY");
+
+        //when
+        Locale locale = localeResolver.resolveLocale(request);
+
+        //then
+        assertThat(locale).isEqualTo(Locale.getDefault());
+    }
+
+    @Test
+    void reload() throws Exception {
+        //given
+        String before = messageSource.getMessage("hello", null, Locale.ENGLISH);
+
+        //when
+        messageSource.reload();
+
+        //then
+        assertThat(messageSource.getMessage("hello", null, Locale.ENGLISH)).isEqualTo(before);
+    }
+}
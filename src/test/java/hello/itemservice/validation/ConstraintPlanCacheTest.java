@@ -0,0 +1,170 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.ConstraintPlan;
+import hello.itemservice.web.validation.ConstraintPlanCache;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.Data;
+import org.hibernate.validator.constraints.Range;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ConstraintPlanCacheTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    ConstraintPlanCache constraintPlanCache = new ConstraintPlanCache(validator);
+    ItemPropertyValidator itemPropertyValidator = new ItemPropertyValidator(validator, constraintPlanCache);
+    SpringValidatorAdapter springValidator = new SpringValidatorAdapter(validator);
+
+    @Test
+    void planPerClassAndGroup() {
+        ConstraintPlan savePlan = constraintPlanCache.getPlan(ItemSaveForm.class);
+        assertThat(savePlan.getProperties()).containsExactlyInAnyOrder("itemName", "price", "quantity");
+        assertThat(savePlan.getConstraints("price")).hasSize(2); //@NotNull, @ItemPrice
+        assertThat(savePlan.isDirect("itemName")).isTrue();
+        assertThat(savePlan.isDirect("price")).isFalse(); //규칙 파일을 읽는 제약조건은 Bean Validation 으로 검증
+        assertThat(savePlan.isFullValidation()).isFalse();
+
+        ConstraintPlan updatePlan = constraintPlanCache.getPlan(ItemUpdateForm.class);
+        assertThat(updatePlan.getProperties()).containsExactlyInAnyOrder("id", "itemName", "price");
+
+        //Item 은 그룹별 제약조건이 주석 처리되어 있다.
+        assertThat(constraintPlanCache.getPlan(Item.class, SaveCheck.class).isEmpty()).isTrue();
+
+        //한 번 만든 계획은 재사용
+        assertThat(constraintPlanCache.getPlan(ItemSaveForm.class)).isSameAs(savePlan);
+        assertThat(constraintPlanCache.getPlan(Item.class, UpdateCheck.class))
+                .isNotSameAs(constraintPlanCache.getPlan(Item.class, SaveCheck.class));
+    }
+
+    @Test
+    void sameErrorsAsSpringValidatorAdapter() {
+        assertSameErrors(saveForm(" ", 10, 10000));
+        assertSameErrors(saveForm(null, null, null));
+        assertSameErrors(saveForm("itemA", 1000001, 9999));
+        assertSameErrors(saveForm("itemA", 1000, 1));
+    }
+
+    @Test
+    void bindingFailureSkipsConstraint() {
+        ItemSaveForm form = saveForm("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true, new String[]{"typeMismatch"}, null, null));
+
+        itemPropertyValidator.validate(form, bindingResult);
+
+        assertThat(bindingResult.getFieldErrors("price")).extracting(FieldError::getCode).containsExactly("typeMismatch");
+    }
+
+    @Tag("benchmark")
+    @Test
+    void errorPathThroughput() {
+        ItemSaveForm form = saveForm(" ", 10, 10000); //모든 필드 오류
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("ItemSaveForm(errors)  SpringValidatorAdapter=%,d ops/s  direct=%,d ops/s%n",
+                    throughput(springValidator, form), throughput(itemPropertyValidator, form));
+        }
+    }
+
+    /**
+     * 규칙 파일 기반 제약조건(@ItemPrice, @ItemQuantity)은 기본 규칙을 그대로 적은 @Range, @Max 와 같은 오류를 만들어야 한다.
+     */
+    void assertSameErrors(ItemSaveForm form) {
+        assertThat(errors(itemPropertyValidator, form)).isEqualTo(errors(springValidator, literalForm(form)));
+    }
+
+    LiteralSaveForm literalForm(ItemSaveForm form) {
+        LiteralSaveForm literalForm = new LiteralSaveForm();
+        literalForm.setItemName(form.getItemName());
+        literalForm.setPrice(form.getPrice());
+        literalForm.setQuantity(form.getQuantity());
+        return literalForm;
+    }
+
+    /**
+     * item-rules.properties 의 기본 규칙을 애노테이션에 직접 적은 폼
+     */
+    @Data
+    static class LiteralSaveForm {
+
+        @NotBlank
+        private String itemName;
+
+        @NotNull
+        @Range(min = 1000, max = 1000000, message = "가격은 {min} ~ {max} 까지 허용합니다.")
+        private Integer price;
+
+        @NotNull
+        @Max(value = 9999, message = "수량은 최대 {value} 까지 허용합니다.")
+        private Integer quantity;
+    }
+
+    ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    @Tag("benchmark")
+    @Test
+    void groupedValidationThroughput() {
+        Item item = new Item("itemA", 10000, 10);
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(10);
+        form.setQuantity(10);
+
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("Item(SaveCheck)   SpringValidatorAdapter=%,d ops/s  plan=%,d ops/s%n",
+                    throughput(springValidator, item, SaveCheck.class), throughput(itemPropertyValidator, item, SaveCheck.class));
+            System.out.printf("ItemSaveForm      SpringValidatorAdapter=%,d ops/s  plan=%,d ops/s%n",
+                    throughput(springValidator, form), throughput(itemPropertyValidator, form));
+        }
+    }
+
+    long throughput(SmartValidator smartValidator, Object target, Object... hints) {
+        int iterations = 200_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            smartValidator.validate(target, new BeanPropertyBindingResult(target, "item"), hints);
+        }
+        return iterations * 1_000_000_000L / (System.nanoTime() - start);
+    }
+
+    /**
+     * 필드, 코드, 인자, 거절된 값, 기본 메시지까지 비교
+     */
+    Object errors(SmartValidator smartValidator, Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        smartValidator.validate(target, bindingResult);
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + ":" + String.join(",", error.getCodes()) + ":" + Arrays.toString(argumentCodes(error))
+                        + ":" + error.getRejectedValue() + ":" + error.getDefaultMessage())
+                .collect(Collectors.toSet());
+    }
+
+    Object[] argumentCodes(FieldError error) {
+        return Arrays.stream(error.getArguments()).map(String::valueOf).toArray();
+    }
+}
@@ -0,0 +1,251 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSnapshot;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.ConstraintPlanCache;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 수정 검증(validateChanged) 결과가 @Validated 의 전체 검증 결과와 같은지 무작위 입력으로 확인한다. (필드, 코드, 인자, 기본 메시지)
+ * 전체 검증이 SpringValidatorAdapter 와 같은지는 ConstraintPlanCacheTest 에서 확인한다.
+ * 저장된 상품이 제약조건을 어기는 경우(검증 없이 저장, 저장한 뒤에 규칙 교체)도 포함한다.
+ */
+class ItemPropertyValidatorTest {
+
+    static final String[] ITEM_NAMES = {null, "", " ", "a", "itemA"};
+    static final Integer[] PRICES = {null, 0, 999, 1000, 5000, 10000, 1000000, 1000001};
+    static final Integer[] QUANTITIES = {null, 0, 1, 9, 10, 9998, 9999, 10000};
+    static final Long[] IDS = {null, 1L, 2L};
+
+    static final String RULES = "itemName.required=true\nprice.min=1000\nprice.max=1000000\nquantity.max=9999\ntotalPrice.min=10000\n";
+    static final String STRICTER_RULES = "itemName.required=true\nprice.min=5000\nprice.max=1000000\nquantity.max=1000\ntotalPrice.min=50000\n";
+
+    @TempDir
+    Path directory;
+    Path ruleFile;
+    ItemRulesHolder itemRulesHolder;
+    Validator validator;
+    ItemPropertyValidator itemPropertyValidator;
+
+    Random random = new Random(42);
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        ruleFile = directory.resolve("item-rules.properties");
+        Files.writeString(ruleFile, RULES);
+        itemRulesHolder = new ItemRulesHolder(new FileSystemResource(ruleFile), false, event -> {});
+        validator = ItemRulesValidatorFactory.create(itemRulesHolder);
+        itemPropertyValidator = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator));
+    }
+
+    @Test
+    void updateFormSameAsFullValidation() {
+        for (int i = 0; i < 2000; i++) {
+            ItemSnapshot stored = randomItem(); //검증을 통과하지 않은 상품도 저장되어 있을 수 있다.
+
+            ItemUpdateForm form = toForm(stored);
+            if (random.nextBoolean()) form.setId(pick(IDS));
+            if (random.nextBoolean()) form.setItemName(pick(ITEM_NAMES));
+            if (random.nextBoolean()) form.setPrice(pick(PRICES));
+            if (random.nextBoolean()) form.setQuantity(pick(QUANTITIES));
+
+            assertThat(changedValidate(form, stored)).as("%s -> %s", stored, form).isEqualTo(fullValidate(form));
+        }
+    }
+
+    @Test
+    void itemUpdateCheckSameAsFullValidation() {
+        for (int i = 0; i < 2000; i++) {
+            ItemSnapshot stored = randomItem();
+
+            Item item = copy(stored);
+            if (random.nextBoolean()) item.setItemName(pick(ITEM_NAMES));
+            if (random.nextBoolean()) item.setPrice(pick(PRICES));
+            if (random.nextBoolean()) item.setQuantity(pick(QUANTITIES));
+
+            assertThat(changedValidate(item, stored, UpdateCheck.class)).isEqualTo(fullValidate(item, UpdateCheck.class));
+        }
+    }
+
+    /**
+     * V3 는 검증 없이 저장하므로 빈 상품명이 저장되어 있을 수 있다.
+     */
+    @Test
+    void unchangedBlankNameRejected() {
+        //given
+        ItemSnapshot stored = new ItemSnapshot(1L, " ", 10000, 10);
+
+        //when
+        ItemUpdateForm form = toForm(stored);
+        form.setPrice(20000); //가격만 수정
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validateChanged(form, stored, bindingResult);
+
+        //then
+        FieldError itemName = bindingResult.getFieldError("itemName");
+        assertThat(itemName.getCode()).isEqualTo("NotBlank");
+        assertThat(itemName.getRejectedValue()).isEqualTo(" ");
+        assertThat(itemName.getDefaultMessage())
+                .isEqualTo(validator.validateValue(ItemUpdateForm.class, "itemName", " ").iterator().next().getMessage());
+    }
+
+    /**
+     * 이전 규칙으로 저장된 상품을 더 엄격한 규칙으로 교체한 뒤에 수정한다.
+     */
+    @Test
+    void updateFormSameAsFullValidationAfterRulesReloaded() throws IOException {
+        //given
+        List<ItemSnapshot> storedItems = new ArrayList<>();
+        while (storedItems.size() < 500) {
+            ItemSnapshot stored = randomItem();
+            if (fullValidate(toForm(stored)).isEmpty()) {
+                storedItems.add(stored); //저장할 때의 규칙은 통과
+            }
+        }
+
+        //when
+        Files.writeString(ruleFile, STRICTER_RULES);
+        itemRulesHolder.reload();
+
+        //then
+        assertThat(storedItems).anyMatch(stored -> !fullValidate(toForm(stored)).isEmpty()); //현재 규칙을 어기는 상품이 있다.
+        for (ItemSnapshot stored : storedItems) {
+            for (int i = 0; i < 4; i++) {
+                ItemUpdateForm form = toForm(stored);
+                if (random.nextBoolean()) form.setItemName(pick(ITEM_NAMES));
+                if (random.nextBoolean()) form.setPrice(pick(PRICES));
+                if (random.nextBoolean()) form.setQuantity(pick(QUANTITIES));
+
+                assertThat(changedValidate(form, stored)).as("%s -> %s", stored, form).isEqualTo(fullValidate(form));
+            }
+        }
+    }
+
+    @Test
+    void unchangedPriceCheckedAgainstReloadedRules() throws IOException {
+        //given
+        ItemSnapshot stored = new ItemSnapshot(1L, "itemA", 1000, 10);
+        Files.writeString(ruleFile, STRICTER_RULES);
+        itemRulesHolder.reload();
+
+        //when
+        ItemUpdateForm form = toForm(stored);
+        form.setItemName("itemB"); //상품명만 수정
+
+        //then
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validateChanged(form, stored, bindingResult);
+        FieldError price = bindingResult.getFieldError("price");
+        assertThat(price.getCode()).isEqualTo("Range");
+        assertThat(Arrays.copyOfRange(price.getArguments(), 1, 3)).containsExactly(1000000L, 5000L); //max, min
+        assertThat(price.getDefaultMessage()).isEqualTo("가격은 5000 ~ 1000000 까지 허용합니다.");
+        assertThat(changedValidate(form, stored)).isEqualTo(fullValidate(form));
+    }
+
+    @Test
+    void noStoredItemValidatesAll() {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setItemName(" ");
+        form.setPrice(0);
+
+        assertThat(changedValidate(form, null)).isEqualTo(fullValidate(form));
+    }
+
+    @Test
+    void validateValue() {
+        assertThat(itemPropertyValidator.validateValue(ItemSaveForm.class, "item", "price", "1000").hasErrors()).isFalse();
+
+        FieldError range = itemPropertyValidator.validateValue(ItemSaveForm.class, "item", "price", "999").getFieldError("price");
+        assertThat(range.getCode()).isEqualTo("Range");
+        assertThat(range.getCodes()).contains("Range.item.price");
+
+        FieldError typeMismatch = itemPropertyValidator.validateValue(ItemSaveForm.class, "item", "price", "abc").getFieldError("price");
+        assertThat(typeMismatch.getCode()).isEqualTo("typeMismatch");
+        assertThat(typeMismatch.isBindingFailure()).isTrue();
+
+        //다른 필드는 검증하지 않는다.
+        assertThat(itemPropertyValidator.validateValue(ItemSaveForm.class, "item", "quantity", "10").hasErrors()).isFalse();
+    }
+
+    /**
+     * 컨트롤러와 같은 순서: Bean Validation(@Validated 와 같은 전체 검증) -> 복합 룰
+     */
+    Set<String> fullValidate(Object form, Class<?>... groups) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validate(form, bindingResult, (Object[]) groups);
+        totalPriceMin(form, bindingResult);
+        return errorKeys(bindingResult);
+    }
+
+    Set<String> changedValidate(Object form, ItemSnapshot stored, Class<?>... groups) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validateChanged(form, stored, bindingResult, groups);
+        totalPriceMin(form, bindingResult);
+        return errorKeys(bindingResult);
+    }
+
+    void totalPriceMin(Object form, BindingResult bindingResult) {
+        Integer price = (Integer) bindingResult.getFieldValue("price");
+        Integer quantity = (Integer) bindingResult.getFieldValue("quantity");
+        itemRulesHolder.get().validateTotalPrice(price, quantity, bindingResult);
+    }
+
+    /**
+     * 필드:코드:인자:기본 메시지
+     */
+    Set<String> errorKeys(BindingResult bindingResult) {
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        return errors.stream()
+                .map(error -> (error instanceof FieldError ? ((FieldError) error).getField() : "") + ":" + error.getCode()
+                        + ":" + Arrays.toString(error.getArguments()) + ":" + error.getDefaultMessage())
+                .collect(Collectors.toSet());
+    }
+
+    ItemSnapshot randomItem() {
+        return new ItemSnapshot(pick(IDS), pick(ITEM_NAMES), pick(PRICES), pick(QUANTITIES));
+    }
+
+    Item copy(ItemSnapshot source) {
+        Item item = new Item(source.getItemName(), source.getPrice(), source.getQuantity());
+        item.setId(source.getId());
+        return item;
+    }
+
+    ItemUpdateForm toForm(ItemSnapshot item) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(item.getId());
+        form.setItemName(item.getItemName());
+        form.setPrice(item.getPrice());
+        form.setQuantity(item.getQuantity());
+        return form;
+    }
+
+    <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
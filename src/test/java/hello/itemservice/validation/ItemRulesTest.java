@@ -0,0 +1,228 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ConstraintPlanCache;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+import hello.itemservice.web.validation.rule.ItemRulesReloadedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ItemRulesTest {
+
+    ItemRules rules = new ItemRules(true, 1000, 1000000, 9999, 10000);
+
+    @Test
+    void loadRuleFile() throws Exception {
+        ItemRules rules = new ItemRulesHolder(new ClassPathResource("item-rules.properties"), false, event -> {}).get();
+        assertThat(rules.isItemNameRequired()).isTrue();
+        assertThat(rules.getPriceMin()).isEqualTo(1000);
+        assertThat(rules.getPriceMax()).isEqualTo(1000000);
+        assertThat(rules.getQuantityMax()).isEqualTo(9999);
+        assertThat(rules.getTotalPriceMin()).isEqualTo(10000);
+    }
+
+    @Test
+    void invalidRuleFile() {
+        Properties properties = properties("itemName.required=true", "price.min=1000", "price.max=100",
+                "quantity.max=9999", "totalPrice.min=10000");
+        assertThatThrownBy(() -> ItemRules.from(properties)).isInstanceOf(IllegalArgumentException.class);
+
+        properties.setProperty("price.max", "1000000");
+        properties.setProperty("quantity.maximum", "1");
+        assertThatThrownBy(() -> ItemRules.from(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sameErrorsAsHandWrittenValidator() {
+        Random random = new Random(7);
+        Integer[] prices = {null, 0, 999, 1000, 5000, 1000000, 1000001};
+        Integer[] quantities = {null, 0, 1, 2, 10, 9999, 10000};
+        String[] names = {null, "", " ", "itemA"};
+
+        for (int i = 0; i < 500; i++) {
+            //given
+            Item item = new Item(names[random.nextInt(names.length)],
+                    prices[random.nextInt(prices.length)], quantities[random.nextInt(quantities.length)]);
+
+            //when
+            BindingResult expected = new BeanPropertyBindingResult(item, "item");
+            handWritten(item, expected);
+            BindingResult actual = new BeanPropertyBindingResult(item, "item");
+            rules.validate(item, actual);
+
+            //then
+            assertThat(errors(actual)).as("%s", item).isEqualTo(errors(expected));
+        }
+    }
+
+    @Test
+    void reloadSwapsRules(@TempDir Path directory) throws Exception {
+        //given
+        Path file = directory.resolve("item-rules.properties");
+        Files.writeString(file, "itemName.required=true\nprice.min=1000\nprice.max=1000000\nquantity.max=9999\ntotalPrice.min=10000\n");
+        List<Object> events = new ArrayList<>();
+        ItemRulesHolder holder = new ItemRulesHolder(new FileSystemResource(file), false, events::add);
+        ItemRules before = holder.get();
+
+        //when
+        Files.writeString(file, "itemName.required=true\nprice.min=2000\nprice.max=1000000\nquantity.max=100\ntotalPrice.min=50000\n", StandardCharsets.UTF_8);
+        holder.reload();
+
+        //then
+        assertThat(holder.get()).isNotSameAs(before);
+        assertThat(holder.get().getPriceMin()).isEqualTo(2000);
+        assertThat(holder.get().getTotalPriceMin()).isEqualTo(50000);
+        assertThat(events).hasSize(1).first().isInstanceOf(ItemRulesReloadedEvent.class);
+    }
+
+    @Test
+    void invalidReloadKeepsRules(@TempDir Path directory) throws Exception {
+        //given
+        Path file = directory.resolve("item-rules.properties");
+        Files.writeString(file, "itemName.required=true\nprice.min=1000\nprice.max=1000000\nquantity.max=9999\ntotalPrice.min=10000\n");
+        List<Object> events = new ArrayList<>();
+        ItemRulesHolder holder = new ItemRulesHolder(new FileSystemResource(file), false, events::add);
+        ItemRules before = holder.get();
+
+        //when
+        Files.writeString(file, "price.min=abc\n");
+        holder.reload();
+
+        //then
+        assertThat(holder.get()).isSameAs(before);
+        assertThat(events).isEmpty();
+    }
+
+    /**
+     * 폼의 @ItemPrice, @ItemQuantity 도 교체된 규칙으로 검증한다.
+     */
+    @Test
+    void formConstraintsFollowReloadedRules(@TempDir Path directory) throws Exception {
+        //given
+        Path file = directory.resolve("item-rules.properties");
+        Files.writeString(file, "itemName.required=true\nprice.min=1000\nprice.max=1000000\nquantity.max=9999\ntotalPrice.min=10000\n");
+        ItemRulesHolder holder = new ItemRulesHolder(new FileSystemResource(file), false, event -> {});
+        Validator validator = ItemRulesValidatorFactory.create(holder);
+        ItemPropertyValidator itemPropertyValidator = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator));
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(1500);
+        form.setQuantity(100);
+        BindingResult before = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validate(form, before);
+
+        //when
+        Files.writeString(file, "itemName.required=true\nprice.min=2000\nprice.max=1000000\nquantity.max=50\ntotalPrice.min=10000\n");
+        holder.reload();
+        BindingResult after = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validate(form, after);
+
+        //then
+        assertThat(before.hasErrors()).isFalse();
+        //코드와 인자 순서는 @Range(필드, max, min), @Max(필드, max) 와 같다. (errors.properties 의 Range, Max)
+        FieldError price = after.getFieldError("price");
+        assertThat(price.getCode()).isEqualTo("Range");
+        assertThat(price.getCodes()).contains("Range.item.price");
+        assertThat(price.getArguments()).hasSize(3);
+        assertThat(((MessageSourceResolvable) price.getArguments()[0]).getCodes()).containsExactly("item.price", "price");
+        assertThat(price.getArguments()[1]).isEqualTo(1000000L);
+        assertThat(price.getArguments()[2]).isEqualTo(2000L);
+        assertThat(price.getDefaultMessage()).isEqualTo("가격은 2000 ~ 1000000 까지 허용합니다.");
+        FieldError quantity = after.getFieldError("quantity");
+        assertThat(quantity.getCode()).isEqualTo("Max");
+        assertThat(quantity.getArguments()[1]).isEqualTo(50L);
+        assertThat(quantity.getDefaultMessage()).isEqualTo("수량은 최대 50 까지 허용합니다.");
+    }
+
+    /**
+     * 규칙 엔진과 직접 작성한 검증 로직의 처리량 비교
+     */
+    @Tag("benchmark")
+    @Test
+    void throughputAgainstHandWrittenValidator() {
+        Item valid = new Item("itemA", 10000, 10);
+        Item invalid = new Item(" ", 10, 10000);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("valid    handWritten=%,d ops/s  rules=%,d ops/s%n",
+                    throughput(valid, false), throughput(valid, true));
+            System.out.printf("invalid  handWritten=%,d ops/s  rules=%,d ops/s%n",
+                    throughput(invalid, false), throughput(invalid, true));
+        }
+    }
+
+    long throughput(Item item, boolean useRules) {
+        int iterations = 1_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+            if (useRules) {
+                rules.validate(item, bindingResult);
+            } else {
+                handWritten(item, bindingResult);
+            }
+        }
+        return iterations * 1_000_000_000L / (System.nanoTime() - start);
+    }
+
+    /**
+     * 규칙 파일 도입 전 ItemValidator 의 검증 로직 (수량은 최대값까지 허용)
+     */
+    void handWritten(Item item, Errors errors) {
+        if (!StringUtils.hasText(item.getItemName())) {
+            errors.rejectValue("itemName", "required");
+        }
+        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
+            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        }
+        if (item.getQuantity() == null || item.getQuantity() > 9999) {
+            errors.rejectValue("quantity", "max", new Object[]{9999}, null);
+        }
+        if (item.getPrice() != null && item.getQuantity() != null) {
+            int resultPrice = item.getPrice() * item.getQuantity();
+            if (resultPrice < 10000) {
+                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+    }
+
+    List<String> errors(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(error -> String.join(",", error.getCodes()) + ":" + Arrays.toString(error.getArguments()) + ":" + (error instanceof FieldError))
+                .collect(Collectors.toList());
+    }
+
+    Properties properties(String... lines) {
+        Properties properties = new Properties();
+        for (String line : lines) {
+            String[] keyValue = line.split("=", 2);
+            properties.setProperty(keyValue[0], keyValue[1]);
+        }
+        return properties;
+    }
+}
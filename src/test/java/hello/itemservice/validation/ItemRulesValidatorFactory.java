@@ -0,0 +1,40 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.rule.ItemPriceValidator;
+import hello.itemservice.web.validation.rule.ItemQuantityValidator;
+import hello.itemservice.web.validation.rule.ItemRulesHolder;
+
+import javax.validation.Configuration;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+/**
+ * 테스트용: @ItemPrice, @ItemQuantity 가 주어진 ItemRulesHolder 의 규칙을 읽는 Validator
+ * (애플리케이션에서는 스프링이 검증기에 ItemRulesHolder 를 주입한다)
+ */
+class ItemRulesValidatorFactory {
+
+    static Validator create(ItemRulesHolder holder) {
+        Configuration<?> configuration = Validation.byDefaultProvider().configure();
+        ConstraintValidatorFactory defaults = configuration.getDefaultConstraintValidatorFactory();
+        return configuration.constraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                if (key == ItemPriceValidator.class) {
+                    return key.cast(new ItemPriceValidator(holder));
+                }
+                if (key == ItemQuantityValidator.class) {
+                    return key.cast(new ItemQuantityValidator(holder));
+                }
+                return defaults.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+                defaults.releaseInstance(instance);
+            }
+        }).buildValidatorFactory().getValidator();
+    }
+}
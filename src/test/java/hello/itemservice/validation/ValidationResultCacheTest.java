@@ -0,0 +1,131 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.ConstraintPlanCache;
+import hello.itemservice.web.validation.ItemPropertyValidator;
+import hello.itemservice.web.validation.ValidationResultCache;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 캐시에서 다시 담은 오류가 실제 검증 결과와 같은지 확인한다.
+ */
+class ValidationResultCacheTest {
+
+    static final String[] ITEM_NAMES = {null, "", " ", "itemA"};
+    static final Integer[] PRICES = {null, 999, 1000, 1000001};
+    static final Integer[] QUANTITIES = {null, 1, 9999, 10000};
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    ItemPropertyValidator uncached = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator));
+    ValidationResultCache cache = new ValidationResultCache(true, 1000);
+    ItemPropertyValidator cached = new ItemPropertyValidator(validator, new ConstraintPlanCache(validator), cache);
+
+    Random random = new Random(42);
+
+    @Test
+    void replaySameAsValidation() {
+        for (int i = 0; i < 2000; i++) {
+            //given
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(pick(ITEM_NAMES));
+            form.setPrice(pick(PRICES));
+            form.setQuantity(pick(QUANTITIES));
+
+            //when
+            List<String> expected = validate(uncached, form);
+            List<String> actual = validate(cached, form);
+
+            //then
+            assertThat(actual).isEqualTo(expected);
+        }
+        //입력 조합이 64개 뿐이라서 대부분 캐시에서 나온다.
+        assertThat(cache.size()).isEqualTo(64);
+        assertThat(cache.getMisses()).isEqualTo(64);
+        assertThat(cache.getHits()).isEqualTo(2000 - 64);
+    }
+
+    @Test
+    void bindingFailureIsPartOfKey() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setQuantity(10);
+        validate(cached, form);
+
+        //when 가격 타입 변환 실패: 같은 값(price=null)이지만 NotNull 오류 대신 바인딩 오류만 남아야 한다.
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                new String[]{"typeMismatch.item.price", "typeMismatch"}, null, null));
+        cached.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(bindingResult.getFieldError("price").isBindingFailure()).isTrue();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    void invalidate() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        validate(cached, form);
+
+        //when
+        cache.invalidate();
+        validate(cached, form);
+
+        //then
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void bounded() {
+        //given
+        ValidationResultCache smallCache = new ValidationResultCache(true, 16);
+        ItemPropertyValidator validatorWithSmallCache =
+                new ItemPropertyValidator(validator, new ConstraintPlanCache(validator), smallCache);
+
+        //when
+        for (int price = 0; price < 1000; price++) {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setPrice(price);
+            validate(validatorWithSmallCache, form);
+        }
+
+        //then
+        assertThat(smallCache.size()).isLessThanOrEqualTo(16);
+        assertThat(smallCache.getEvictions()).isGreaterThanOrEqualTo(1000 - 16);
+    }
+
+    private List<String> validate(ItemPropertyValidator itemPropertyValidator, ItemSaveForm form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        itemPropertyValidator.validate(form, bindingResult);
+        return bindingResult.getAllErrors().stream()
+                .map(this::describe)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private String describe(ObjectError error) {
+        String field = error instanceof FieldError ? ((FieldError) error).getField() : "";
+        return field + Arrays.toString(error.getCodes()) + error.getArguments().length + error.getDefaultMessage();
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,100 @@
+package hello.itemservice.web.abuse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AbuseFilterTest {
+
+    AbuseStats abuseStats = new AbuseStats();
+    AbuseFilter filter = new AbuseFilter(new ClientRateLimiter(10, 3, 100), abuseStats, false);
+
+    @Test
+    void validFormPasses() throws Exception {
+        //given
+        MockHttpServletRequest request = form("/validation/v3/items/add");
+        request.addParameter("itemName", " ");
+        request.addParameter("price", "abc"); //사람이 입력할 수 있는 오류는 검증 단계에서 처리
+        request.addParameter("quantity", "");
+        request.addParameter("idempotencyKey", "key");
+
+        //when
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        //then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(abuseStats.getPassed()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedFormRejected() throws Exception {
+        assertThat(status(withParameters("itemName", "a", "price", "1"))).isEqualTo(400); //빠진 필드
+        assertThat(status(withParameters("itemName", "a", "price", "1", "quantity", "1", "spam", "x"))).isEqualTo(400);
+        assertThat(status(withParameters("itemName", "a".repeat(500), "price", "1", "quantity", "1"))).isEqualTo(400);
+        assertThat(abuseStats.getMalformed()).containsKeys("missing-parameter", "unknown-parameter", "malformed-value");
+    }
+
+    @Test
+    void jsonContentType() throws Exception {
+        //given
+        MockHttpServletRequest json = new MockHttpServletRequest("POST", "/validation/api/items/add");
+        json.setContentType("application/json");
+        json.setContent("{}".getBytes());
+        MockHttpServletRequest text = new MockHttpServletRequest("POST", "/validation/api/async/items/add");
+        text.setContentType("text/plain");
+        text.setContent("spam".getBytes());
+
+        //when
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(json, new MockHttpServletResponse(), chain);
+
+        //then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(status(text)).isEqualTo(400);
+    }
+
+    @Test
+    void rateLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            status(withParameters("itemName", "a", "price", "1", "quantity", "1"));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(withParameters("itemName", "a", "price", "1", "quantity", "1"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void otherRequestsNotFiltered() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/validation/v3/items/add"), new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(abuseStats.getPassed()).isZero();
+    }
+
+    int status(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    MockHttpServletRequest withParameters(String... nameValues) {
+        MockHttpServletRequest request = form("/validation/v4/items/add");
+        for (int i = 0; i < nameValues.length; i += 2) {
+            request.addParameter(nameValues[i], nameValues[i + 1]);
+        }
+        return request;
+    }
+
+    MockHttpServletRequest form(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType("application/x-www-form-urlencoded");
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.web.abuse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstThenRefill() {
+        //given
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(10, 5, 100);
+        long now = System.nanoTime();
+
+        //when
+        int acquired = 0;
+        for (int i = 0; i < 10; i++) {
+            if (rateLimiter.tryAcquire("client", now)) {
+                acquired++;
+            }
+        }
+
+        //then
+        assertThat(acquired).isEqualTo(5);
+        assertThat(rateLimiter.tryAcquire("other", now)).isTrue(); //클라이언트별 버킷
+        assertThat(rateLimiter.tryAcquire("client", now + SECOND / 10)).isTrue(); //0.1초에 토큰 1개
+        assertThat(rateLimiter.tryAcquire("client", now + SECOND / 10)).isFalse();
+    }
+
+    @Test
+    void boundedClients() {
+        //given
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(10, 1, 100);
+        long now = System.nanoTime();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("client" + i, now);
+        }
+
+        //then
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(100);
+        assertThat(rateLimiter.getOverflows()).isGreaterThan(0);
+
+        //버킷이 다시 가득 차면 지우고 새 클라이언트를 받는다.
+        assertThat(rateLimiter.tryAcquire("new", now + SECOND)).isTrue();
+        assertThat(rateLimiter.getEvictions()).isGreaterThan(0);
+    }
+
+    @Test
+    void concurrentAcquireNeverExceedsBurst() throws Exception {
+        //given: 충전이 거의 없는 버킷
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 1000, 100);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        long now = System.nanoTime();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (rateLimiter.tryAcquire("client", now)) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(acquired.get()).isEqualTo(1000);
+    }
+}
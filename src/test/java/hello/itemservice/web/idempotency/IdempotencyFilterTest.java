@@ -0,0 +1,104 @@
+package hello.itemservice.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    IdempotencyKeyStore keyStore = new IdempotencyKeyStore();
+    IdempotencyFilter filter = new IdempotencyFilter(keyStore);
+    AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void sameKeyWithDifferentBodyRejected() throws Exception {
+        //given
+        MockHttpServletResponse first = send(json("key", "{\"itemName\":\"itemA\"}"), false);
+
+        //when
+        MockHttpServletResponse other = send(json("key", "{\"itemName\":\"itemB\"}"), false);
+        MockHttpServletResponse same = send(json("key", "{\"itemName\":\"itemA\"}"), false);
+
+        //then 같은 내용은 저장된 응답, 다른 내용은 422
+        assertThat(first.getContentAsString()).isEqualTo("{\"itemName\":\"itemA\"}");
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(same.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(keyStore.getMismatches()).isEqualTo(1);
+    }
+
+    @Test
+    void sameKeyWithDifferentFormRejected() throws Exception {
+        //given
+        send(form("key", "10000"), false);
+
+        //when
+        MockHttpServletResponse other = send(form("key", "20000"), false);
+
+        //then
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void validationErrorNotStored() throws Exception {
+        //given 검증 오류 (API 는 200 으로 응답)
+        send(json("key", "{\"itemName\":\" \"}"), true);
+
+        //when 같은 키로 다시 보낸다.
+        MockHttpServletResponse retried = send(json("key", "{\"itemName\":\" \"}"), true);
+
+        //then 저장된 응답이 아니라 다시 처리한다.
+        assertThat(retried.getStatus()).isEqualTo(200);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(keyStore.size()).isZero();
+    }
+
+    /**
+     * 받은 바디를 그대로 돌려준다. (컨트롤러 대신)
+     */
+    MockHttpServletResponse send(MockHttpServletRequest request, boolean validationError) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                calls.incrementAndGet();
+                if (validationError) {
+                    IdempotencyFilter.rejectReplay(req);
+                }
+                res.setContentType(req.getContentType());
+                res.getOutputStream().write(req.getInputStream().readAllBytes());
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    MockHttpServletRequest json(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/api/items/add");
+        request.addHeader(IdempotencyFilter.HEADER_NAME, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    MockHttpServletRequest form(String key, String price) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/v3/items/add");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("itemName", "itemA");
+        request.addParameter("price", price);
+        request.addParameter("quantity", "10");
+        request.addParameter(IdempotencyFilter.PARAMETER_NAME, key);
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyKeyStoreTest {
+
+    IdempotencyKeyStore keyStore = new IdempotencyKeyStore();
+
+    @Test
+    void replayStoredResponse() {
+        assertThat(keyStore.begin("key", "fingerprint").isAcquired()).isTrue();
+
+        //처리 중에 같은 키로 들어오면 충돌
+        assertThat(keyStore.begin("key", "fingerprint").isInProgress()).isTrue();
+
+        StoredResponse response = new StoredResponse(302, "/validation/v4/items/1?status=true", null, new byte[0]);
+        keyStore.complete("key", response);
+
+        IdempotencyKeyStore.Result result = keyStore.begin("key", "fingerprint");
+        assertThat(result.getResponse()).isSameAs(response);
+        assertThat(keyStore.getHits()).isEqualTo(1);
+        assertThat(keyStore.getMisses()).isEqualTo(1);
+        assertThat(keyStore.getConflicts()).isEqualTo(1);
+    }
+
+    @Test
+    void differentFingerprintRejected() {
+        keyStore.begin("key", "fingerprint");
+
+        assertThat(keyStore.begin("key", "other").isMismatch()).isTrue();
+        assertThat(keyStore.begin("key", "fingerprint").isInProgress()).isTrue();
+        assertThat(keyStore.getMismatches()).isEqualTo(1);
+    }
+
+    @Test
+    void releasedKeyCanBeReused() {
+        keyStore.begin("key", "fingerprint");
+        keyStore.release("key");
+
+        assertThat(keyStore.begin("key", "fingerprint").isAcquired()).isTrue();
+    }
+}
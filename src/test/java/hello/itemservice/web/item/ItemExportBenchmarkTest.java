@@ -0,0 +1,72 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 상품 100만 개: HTML 목록(/validation/v4/items) vs 내보내기 API
+ * 시간과 요청 처리 스레드가 할당한 메모리(응답 버퍼 포함)를 비교한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemExportBenchmarkTest {
+
+    static final int ITEM_COUNT = 1_000_000;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void exportAgainstHtmlList() throws Exception {
+        List<Item> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            batch.add(new Item("item" + i, 1000 + i % 999000, 10 + i % 9000));
+            if (batch.size() == 10_000) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+
+        for (int round = 0; round < 2; round++) {
+            measure("html list    ", get("/validation/v4/items"));
+            measure("export csv   ", get("/validation/api/items/export"));
+            measure("export ndjson", get("/validation/api/items/export").param("format", "ndjson"));
+            measure("export gzip  ", get("/validation/api/items/export").header("Accept-Encoding", "gzip"));
+        }
+    }
+
+    void measure(String name, RequestBuilder request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedMb = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / (1024 * 1024);
+        System.out.printf("%s %6d ms  response=%,d bytes  allocated=%,d MB%n",
+                name, elapsedMillis, result.getResponse().getContentAsByteArray().length, allocatedMb);
+    }
+}
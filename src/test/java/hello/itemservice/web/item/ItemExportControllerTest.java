@@ -0,0 +1,82 @@
+package hello.itemservice.web.item;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemExportControllerTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemExportController controller = new ItemExportController(itemRepository);
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        //given
+        List<ItemSnapshot> items = itemRepository.saveAll(List.of(
+                new Item("itemA", 10000, 10), new Item("item, \"B\"", 20000, 20)));
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.export("csv", 0, null, response);
+
+        //then
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,itemName,price,quantity\n"
+                        + items.get(0).getId() + ",itemA,10000,10\n"
+                        + items.get(1).getId() + ",\"item, \"\"B\"\"\",20000,20\n");
+    }
+
+    @Test
+    void exportNdjsonAfterId() throws Exception {
+        //given
+        List<ItemSnapshot> items = itemRepository.saveAll(List.of(
+                new Item("itemA", 10000, 10), new Item("item\"B\"", 20000, 20)));
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.export("ndjson", items.get(0).getId(), null, response);
+
+        //then
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":" + items.get(1).getId() + ",\"itemName\":\"item\\\"B\\\"\",\"price\":20000,\"quantity\":20}\n");
+    }
+
+    @Test
+    void exportGzip() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.export("csv", 0, "gzip, deflate", response);
+
+        //then
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        String body = new String(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(body).startsWith("id,itemName,price,quantity\n").contains(",itemA,10000,10\n");
+    }
+
+    @Test
+    void unknownFormat() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.export("xml", 0, null, response);
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+}
@@ -0,0 +1,80 @@
+package hello.itemservice.web.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AimdLimiterTest {
+
+    static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void rejectOverLimit() {
+        //given
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, THRESHOLD);
+
+        //when
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void increaseWhenFastAndBusy() {
+        //given
+        AimdLimiter limiter = new AimdLimiter(2, 1, 3, THRESHOLD);
+
+        //when 절반 이상 쓰는 중에 빠르게 끝나면 1씩 늘어난다. (최대까지)
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(THRESHOLD / 10, System.nanoTime());
+        }
+
+        //then
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void decreaseOncePerThreshold() {
+        //given
+        AimdLimiter limiter = new AimdLimiter(100, 1, 100, THRESHOLD);
+        long now = System.nanoTime();
+
+        //when 같은 순간에 느린 응답이 여러 개
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release(THRESHOLD * 2, now);
+        }
+
+        //then 한 번만 줄인다.
+        assertThat(limiter.getLimit()).isEqualTo(90);
+
+        //when 기준 시간이 지난 뒤 다시 느리면
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD * 2, now + THRESHOLD);
+
+        //then
+        assertThat(limiter.getLimit()).isEqualTo(81);
+    }
+
+    @Test
+    void neverBelowMin() {
+        AimdLimiter limiter = new AimdLimiter(3, 2, 10, THRESHOLD);
+        long now = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.decrease(now + i * THRESHOLD);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
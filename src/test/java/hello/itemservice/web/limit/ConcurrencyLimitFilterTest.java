@@ -0,0 +1,109 @@
+package hello.itemservice.web.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    ConcurrencyLimits concurrencyLimits = new ConcurrencyLimits(1, 1, 10, 100, 300, 300, 1);
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(concurrencyLimits);
+
+    @Test
+    void classify() {
+        assertThat(EndpointClass.of(new MockHttpServletRequest("GET", "/validation/v4/items/1"))).isEqualTo(EndpointClass.READ);
+        assertThat(EndpointClass.of(new MockHttpServletRequest("POST", "/validation/v4/items/add"))).isEqualTo(EndpointClass.FORM);
+        assertThat(EndpointClass.of(new MockHttpServletRequest("POST", "/validation/api/items/add"))).isEqualTo(EndpointClass.API);
+        assertThat(EndpointClass.of(new MockHttpServletRequest("GET", "/validation/api/items/export"))).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.of(new MockHttpServletRequest("POST", "/validation/api/items/import"))).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.isMonitoring(new MockHttpServletRequest("GET", "/validation/api/limits"))).isTrue();
+        assertThat(EndpointClass.isMonitoring(new MockHttpServletRequest("GET", "/validation/api/items/stats"))).isTrue();
+        assertThat(EndpointClass.isMonitoring(new MockHttpServletRequest("GET", "/validation/api/items/export"))).isFalse();
+    }
+
+    @Test
+    void slowBulkDoesNotShrinkLimits() {
+        //given 내보내기는 원래 오래 걸린다.
+        ConcurrencyLimits limits = new ConcurrencyLimits(10, 1, 10, 100, 300, 300, 4);
+        long slowExport = TimeUnit.SECONDS.toNanos(30);
+
+        //when
+        limits.get(EndpointClass.BULK).tryAcquire();
+        limits.release(EndpointClass.BULK, slowExport, System.nanoTime());
+
+        //then 고정 제한이고, 다른 종류의 제한도 그대로다.
+        assertThat(limits.get(EndpointClass.BULK).getLimit()).isEqualTo(4);
+        assertThat(limits.get(EndpointClass.BULK).getInFlight()).isZero();
+        assertThat(limits.get(EndpointClass.API).getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void monitoringIsNotLimited() throws Exception {
+        //given API 제한을 다 쓰고 있다. (limit=1)
+        concurrencyLimits.get(EndpointClass.API).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(new MockHttpServletRequest("GET", "/validation/api/limits"), response, new MockFilterChain());
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(concurrencyLimits.get(EndpointClass.API).getRejected()).isZero();
+    }
+
+    @Test
+    void shedWhenFull() throws Exception {
+        //given 폼 제출 하나가 처리 중 (limit=1)
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        FilterChain busyChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                try {
+                    //처리 중에 같은 종류와 다른 종류의 요청이 들어온다.
+                    nested[0] = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("POST", "/validation/v4/items/add"), nested[0], new MockFilterChain());
+                    nested[1] = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/validation/v4/items"), nested[1], new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        //when
+        filter.doFilter(new MockHttpServletRequest("POST", "/validation/v4/items/add"), new MockHttpServletResponse(), busyChain);
+
+        //then
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(nested[1].getStatus()).isEqualTo(200);
+        assertThat(concurrencyLimits.get(EndpointClass.FORM).getRejected()).isEqualTo(1);
+        assertThat(concurrencyLimits.get(EndpointClass.FORM).getInFlight()).isZero();
+    }
+
+    @Test
+    void slowReadsShrinkLowerPriority() {
+        //given
+        ConcurrencyLimits limits = new ConcurrencyLimits(10, 1, 10, 100, 300, 300, 1);
+        long slowRead = TimeUnit.MILLISECONDS.toNanos(150);
+
+        //when
+        limits.get(EndpointClass.READ).tryAcquire();
+        limits.release(EndpointClass.READ, slowRead, System.nanoTime());
+
+        //then
+        assertThat(limits.get(EndpointClass.READ).getLimit()).isEqualTo(9);
+        assertThat(limits.get(EndpointClass.FORM).getLimit()).isEqualTo(9);
+        assertThat(limits.get(EndpointClass.API).getLimit()).isEqualTo(9);
+        assertThat(limits.get(EndpointClass.BULK).getLimit()).isEqualTo(1);
+    }
+}
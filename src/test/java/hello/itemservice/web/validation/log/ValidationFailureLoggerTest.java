@@ -0,0 +1,92 @@
+package hello.itemservice.web.validation.log;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationFailureLoggerTest {
+
+    @Test
+    void record() {
+        //given
+        ValidationFailureLogger logger = new ValidationFailureLogger(1.0, 100, 16);
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                new String[]{"typeMismatch.item.price", "typeMismatch"}, null, null));
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 5000}, null);
+
+        //when
+        logger.record("POST /items/add", bindingResult);
+
+        //then
+        List<ValidationFailureEvent> events = logger.pending();
+        assertThat(events).hasSize(2);
+        ValidationFailureEvent fieldEvent = events.get(0);
+        assertThat(fieldEvent.getEndpoint()).isEqualTo("POST /items/add");
+        assertThat(fieldEvent.getField()).isEqualTo("price");
+        assertThat(fieldEvent.getCode()).isEqualTo("typeMismatch");
+        assertThat(fieldEvent.getRejectedValueHash()).isEqualTo("abc".hashCode());
+        assertThat(fieldEvent.isBindingFailure()).isTrue();
+        assertThat(events.get(1).getField()).isNull();
+        assertThat(events.get(1).getCode()).isEqualTo("totalPriceMin");
+
+        assertThat(logger.drainTo(new ArrayList<>())).isEqualTo(2);
+        assertThat(logger.pending()).isEmpty();
+    }
+
+    @Test
+    void sampling() {
+        //given
+        ValidationFailureLogger logger = new ValidationFailureLogger(0.0, 100, 16);
+
+        //when
+        logger.record("POST /items/add", errors());
+
+        //then
+        assertThat(logger.pending()).isEmpty();
+        assertThat(logger.getSampledOut()).isEqualTo(1);
+    }
+
+    @Test
+    void rateLimit() {
+        //given
+        ValidationFailureLogger logger = new ValidationFailureLogger(1.0, 3, 16);
+
+        //when 1초 분량(3)을 넘게 몰아서 기록
+        for (int i = 0; i < 5; i++) {
+            logger.record("POST /items/add", errors());
+        }
+
+        //then
+        assertThat(logger.pending()).hasSize(3);
+        assertThat(logger.getRateLimited()).isEqualTo(2);
+    }
+
+    @Test
+    void bufferFull() {
+        //given
+        ValidationFailureLogger logger = new ValidationFailureLogger(1.0, 100, 2);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            logger.record("POST /items/add", errors());
+        }
+
+        //then 기다리지 않고 버린다.
+        assertThat(logger.pending()).hasSize(2);
+        assertThat(logger.getDropped()).isEqualTo(1);
+    }
+
+    private BindingResult errors() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.rejectValue("itemName", "required");
+        return bindingResult;
+    }
+}